@@ -1,23 +1,36 @@
 package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.BrandSummary;
-import br.com.carreselling.domain.repository.BrandRepository;
+import br.com.carreselling.domain.model.Brand;
 import java.util.List;
 import org.springframework.stereotype.Service;
 
 @Service
 public class BrandService implements IBrandService {
 
-    private final BrandRepository brandRepository;
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
 
-    public BrandService(BrandRepository brandRepository) {
-        this.brandRepository = brandRepository;
+    private final VehicleCatalog vehicleCatalog;
+
+    public BrandService(VehicleCatalog vehicleCatalog) {
+        this.vehicleCatalog = vehicleCatalog;
     }
 
     @Override
     public List<BrandSummary> listBrands() {
-        return brandRepository.findBrands()
-            .stream()
+        return toSummaries(vehicleCatalog.listBrands());
+    }
+
+    @Override
+    public List<BrandSummary> autocompleteBrands(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new IllegalArgumentException("limit: must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT + ".");
+        }
+        return toSummaries(vehicleCatalog.autocompleteBrands(prefix, limit));
+    }
+
+    private List<BrandSummary> toSummaries(List<Brand> brands) {
+        return brands.stream()
             .map(brand -> new BrandSummary(brand.getId(), brand.getName()))
             .toList();
     }
@@ -0,0 +1,150 @@
+package br.com.carreselling.application.service;
+
+import java.math.BigDecimal;
+
+final class CentavoTaxCalculator {
+
+    private static final int CENTAVO_SCALE = 2;
+    private static final int MAX_LONG_SCALE = 18;
+
+    private final long icmsMultiplier;
+    private final long marginMultiplier;
+    private final long taxesDivisor;
+    private final long irCommissionMultiplier;
+    private final long irCommissionDivisor;
+
+    private CentavoTaxCalculator(long icmsMultiplier,
+                                 long marginMultiplier,
+                                 long taxesDivisor,
+                                 long irCommissionMultiplier,
+                                 long irCommissionDivisor) {
+        this.icmsMultiplier = icmsMultiplier;
+        this.marginMultiplier = marginMultiplier;
+        this.taxesDivisor = taxesDivisor;
+        this.irCommissionMultiplier = irCommissionMultiplier;
+        this.irCommissionDivisor = irCommissionDivisor;
+    }
+
+    static CentavoTaxCalculator create(BigDecimal icmsBaseRate,
+                                       BigDecimal icmsRate,
+                                       BigDecimal pisRate,
+                                       BigDecimal cofinsRate,
+                                       BigDecimal csllRate,
+                                       BigDecimal irpjRate,
+                                       BigDecimal irCommissionRate) {
+        try {
+            BigDecimal icms = nonNegativeScale(icmsBaseRate.multiply(icmsRate));
+            BigDecimal margin = nonNegativeScale(pisRate.add(cofinsRate).add(csllRate).add(irpjRate));
+            BigDecimal irCommission = nonNegativeScale(irCommissionRate);
+            int taxesScale = Math.max(icms.scale(), margin.scale());
+            if (taxesScale > MAX_LONG_SCALE || irCommission.scale() > MAX_LONG_SCALE) {
+                return null;
+            }
+            return new CentavoTaxCalculator(
+                icms.setScale(taxesScale).unscaledValue().longValueExact(),
+                margin.setScale(taxesScale).unscaledValue().longValueExact(),
+                pow10(taxesScale),
+                irCommission.unscaledValue().longValueExact(),
+                pow10(irCommission.scale())
+            );
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+    }
+
+    boolean calculate(VehicleSalesCalculator.SoldVehicleRaw vehicle, Line line) {
+        if (vehicle.sellingPrice() == null || vehicle.purchasePrice() == null
+            || vehicle.freightCost() == null || vehicle.servicesTotal() == null) {
+            return false;
+        }
+        line.sellingPrice = toCentavos(vehicle.sellingPrice());
+        line.servicesTotal = toCentavos(vehicle.servicesTotal());
+        line.purchaseCommission = vehicle.purchaseCommission() == null ? 0 : toCentavos(vehicle.purchaseCommission());
+        long baseProfit = Math.subtractExact(line.sellingPrice, toCentavos(vehicle.purchasePrice()));
+        long taxableMargin = Math.max(baseProfit, 0);
+
+        long taxesNumerator = Math.addExact(
+            Math.multiplyExact(line.sellingPrice, icmsMultiplier),
+            Math.multiplyExact(taxableMargin, marginMultiplier));
+        line.totalTaxes = divideHalfUp(taxesNumerator, taxesDivisor);
+        line.commissionIr = divideHalfUp(
+            Math.multiplyExact(line.purchaseCommission, irCommissionMultiplier), irCommissionDivisor);
+        long profit = Math.subtractExact(baseProfit, line.totalTaxes);
+        profit = Math.subtractExact(profit, toCentavos(vehicle.freightCost()));
+        profit = Math.subtractExact(profit, line.servicesTotal);
+        line.profit = Math.subtractExact(profit, line.commissionIr);
+        line.profitScale = Math.max(CENTAVO_SCALE, Math.max(
+            Math.max(vehicle.sellingPrice().scale(), vehicle.purchasePrice().scale()),
+            Math.max(vehicle.freightCost().scale(), vehicle.servicesTotal().scale())));
+        return true;
+    }
+
+    static long toCentavos(BigDecimal value) {
+        return value.movePointRight(CENTAVO_SCALE).longValueExact();
+    }
+
+    static BigDecimal toBigDecimal(long centavos, int scale) {
+        return BigDecimal.valueOf(centavos, CENTAVO_SCALE).setScale(scale);
+    }
+
+    // Rounds half away from zero, exactly like RoundingMode.HALF_UP on the equivalent BigDecimal.
+    static long divideHalfUp(long numerator, long divisor) {
+        long quotient = numerator / divisor;
+        long remainder = numerator % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += Long.signum(numerator);
+        }
+        return quotient;
+    }
+
+    private static BigDecimal nonNegativeScale(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    static final class Line {
+        private long sellingPrice;
+        private long servicesTotal;
+        private long purchaseCommission;
+        private long totalTaxes;
+        private long commissionIr;
+        private long profit;
+        private int profitScale;
+
+        long sellingPrice() {
+            return sellingPrice;
+        }
+
+        long servicesTotal() {
+            return servicesTotal;
+        }
+
+        long purchaseCommission() {
+            return purchaseCommission;
+        }
+
+        long totalTaxes() {
+            return totalTaxes;
+        }
+
+        long commissionIr() {
+            return commissionIr;
+        }
+
+        long profit() {
+            return profit;
+        }
+
+        int profitScale() {
+            return profitScale;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.Document;
+import br.com.carreselling.infrastructure.storage.CompressingDocumentStorage;
+import br.com.carreselling.infrastructure.storage.DocumentStorage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.springframework.core.io.Resource;
+
+class DocumentArchiveWriter {
+
+    private static final Set<String> STORED_CONTENT_TYPES = Set.of(
+        "application/pdf",
+        "application/zip",
+        "image/jpeg",
+        "image/png",
+        "image/gif",
+        "image/webp"
+    );
+
+    private final ZipOutputStream zip;
+    private final DocumentStorage documentStorage;
+    private final Set<String> entryNames = new HashSet<>();
+
+    DocumentArchiveWriter(OutputStream outputStream, DocumentStorage documentStorage) {
+        this.zip = new ZipOutputStream(outputStream);
+        this.documentStorage = documentStorage;
+    }
+
+    void add(String folder, Document document) throws IOException {
+        Resource resource = documentStorage.load(document.getStorageKey(), document.getId());
+        if (!resource.exists()) {
+            return;
+        }
+        ZipEntry entry = new ZipEntry(entryName(folder, document));
+        entry.setTime(document.getUploadedAt().toEpochMilli());
+        if (isStored(document.getContentType())) {
+            CRC32 crc = new CRC32();
+            long size;
+            try (InputStream content = new CheckedInputStream(open(resource, document), crc)) {
+                size = content.transferTo(OutputStream.nullOutputStream());
+            }
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        try (InputStream content = open(resource, document)) {
+            content.transferTo(zip);
+        }
+        zip.closeEntry();
+    }
+
+    void finish() throws IOException {
+        zip.finish();
+        zip.flush();
+    }
+
+    private InputStream open(Resource resource, Document document) throws IOException {
+        InputStream raw = resource.getInputStream();
+        if (CompressingDocumentStorage.GZIP.equals(document.getContentEncoding())) {
+            return new GZIPInputStream(raw, 64 * 1024);
+        }
+        return raw;
+    }
+
+    private String entryName(String folder, Document document) {
+        String base = sanitize(folder) + "/" + document.getDocumentType().name() + "_"
+            + sanitize(document.getOriginalFileName());
+        String name = base;
+        int suffix = 1;
+        while (!entryNames.add(name.toLowerCase(Locale.ROOT))) {
+            int dot = base.lastIndexOf('.');
+            name = dot > base.lastIndexOf('/')
+                ? base.substring(0, dot) + "-" + suffix + base.substring(dot)
+                : base + "-" + suffix;
+            suffix++;
+        }
+        return name;
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[\\\\/:*?\"<>|]", "_");
+    }
+
+    private static boolean isStored(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        String baseType = parameters < 0 ? contentType : contentType.substring(0, parameters);
+        return STORED_CONTENT_TYPES.contains(baseType.trim().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.Document;
+import br.com.carreselling.domain.model.DocumentPreview;
+import br.com.carreselling.domain.repository.DocumentPreviewRepository;
+import br.com.carreselling.infrastructure.storage.CompressingDocumentStorage;
+import br.com.carreselling.infrastructure.storage.DocumentStorage;
+import br.com.carreselling.infrastructure.storage.LimitedDigestInputStream;
+import br.com.carreselling.infrastructure.storage.StagedBlob;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DocumentPreviewGenerator {
+
+    public static final String PREVIEW_CONTENT_TYPE = "image/jpeg";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentPreviewGenerator.class);
+    private static final Set<String> SOURCE_TYPES = Set.of(
+        "image/jpeg", "image/png", "image/gif", "image/bmp", "image/webp", "image/tiff");
+
+    private final DocumentPreviewRepository previewRepository;
+    private final DocumentStorage documentStorage;
+    private final boolean enabled;
+    private final List<Integer> widths;
+    private final long maxSourcePixels;
+    private final float quality;
+    private final Semaphore permits;
+
+    public DocumentPreviewGenerator(DocumentPreviewRepository previewRepository,
+                                    DocumentStorage documentStorage,
+                                    @Value("${document.preview.enabled:true}") boolean enabled,
+                                    @Value("${document.preview.widths:160,480,1024}") List<Integer> widths,
+                                    @Value("${document.preview.max-source-pixels:50000000}") long maxSourcePixels,
+                                    @Value("${document.preview.quality:0.8}") float quality,
+                                    @Value("${document.preview.max-concurrent:2}") int maxConcurrent) {
+        this.previewRepository = previewRepository;
+        this.documentStorage = documentStorage;
+        this.enabled = enabled;
+        this.widths = widths.stream().sorted().toList();
+        this.maxSourcePixels = maxSourcePixels;
+        this.quality = quality;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean supports(Document document) {
+        return enabled && document.getContentType() != null
+            && SOURCE_TYPES.contains(document.getContentType().toLowerCase(Locale.ROOT));
+    }
+
+    public void generate(Document document) {
+        if (!supports(document)) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            BufferedImage source = read(document);
+            if (source == null) {
+                return;
+            }
+            for (int width : targetWidths(source.getWidth())) {
+                storePreview(document, scale(source, width));
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Failed to generate previews for document {}", document.getId(), ex);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BufferedImage read(Document document) throws IOException {
+        try (InputStream stored = documentStorage.load(document.getStorageKey(), document.getId()).getInputStream();
+             InputStream content = CompressingDocumentStorage.GZIP.equals(document.getContentEncoding())
+                 ? new GZIPInputStream(stored) : stored;
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    LOGGER.info("Skipping previews for document {}: {}x{} exceeds the pixel limit",
+                        document.getId(), width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / (widths.get(widths.size() - 1) * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Set<Integer> targetWidths(int sourceWidth) {
+        Set<Integer> targets = new TreeSet<>();
+        for (int width : widths) {
+            targets.add(Math.min(width, sourceWidth));
+        }
+        return targets;
+    }
+
+    private BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void storePreview(Document document, BufferedImage image) throws IOException {
+        byte[] encoded = encode(image);
+        LimitedDigestInputStream content =
+            new LimitedDigestInputStream(new ByteArrayInputStream(encoded), Long.MAX_VALUE);
+        StagedBlob staged = documentStorage.stage(document.getVehicleId(), UUID.randomUUID(),
+            "preview-" + image.getWidth() + ".jpg", PREVIEW_CONTENT_TYPE, content);
+        documentStorage.claim(staged);
+        try {
+            documentStorage.publish(staged);
+            previewRepository.savePreview(new DocumentPreview(
+                document.getId(),
+                image.getWidth(),
+                image.getHeight(),
+                PREVIEW_CONTENT_TYPE,
+                encoded.length,
+                staged.storageKey(),
+                Instant.now()
+            ));
+        } catch (RuntimeException ex) {
+            documentStorage.delete(staged.storageKey());
+            throw ex;
+        }
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(PREVIEW_CONTENT_TYPE).next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
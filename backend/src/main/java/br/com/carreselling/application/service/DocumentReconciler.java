@@ -0,0 +1,138 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.Document;
+import br.com.carreselling.domain.repository.DocumentRepository;
+import br.com.carreselling.infrastructure.storage.DocumentStorage;
+import br.com.carreselling.infrastructure.storage.StagedBlob;
+import br.com.carreselling.infrastructure.storage.StoredObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "storage.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class DocumentReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentReconciler.class);
+    private static final int KEY_BATCH_SIZE = 500;
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStorage documentStorage;
+    private final MeterRegistry meterRegistry;
+    private final Duration gracePeriod;
+    private final int shardsPerRun;
+    private final int rowsPerRun;
+    private final boolean repair;
+    private int shardCursor;
+    private UUID documentCursor;
+
+    public DocumentReconciler(DocumentRepository documentRepository,
+                              DocumentStorage documentStorage,
+                              MeterRegistry meterRegistry,
+                              @Value("${storage.reconcile.grace-period:PT1H}") Duration gracePeriod,
+                              @Value("${storage.reconcile.shards-per-run:16}") int shardsPerRun,
+                              @Value("${storage.reconcile.rows-per-run:500}") int rowsPerRun,
+                              @Value("${storage.reconcile.repair:true}") boolean repair) {
+        this.documentRepository = documentRepository;
+        this.documentStorage = documentStorage;
+        this.meterRegistry = meterRegistry;
+        this.gracePeriod = gracePeriod;
+        this.shardsPerRun = shardsPerRun;
+        this.rowsPerRun = rowsPerRun;
+        this.repair = repair;
+    }
+
+    @Scheduled(initialDelayString = "${storage.reconcile.initial-delay:PT2M}",
+        fixedDelayString = "${storage.reconcile.interval:PT10M}")
+    public synchronized void reconcile() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        try {
+            reconcileStaged(cutoff);
+            reconcileShards(cutoff);
+            reconcileDocuments(cutoff);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Document reconciliation failed", ex);
+        }
+    }
+
+    private void reconcileStaged(Instant cutoff) {
+        for (StagedBlob staged : documentStorage.findStaged(cutoff)) {
+            Optional<Document> document = documentRepository.findDocumentById(staged.documentId());
+            if (document.isPresent()) {
+                documentStorage.publish(staged.withStorageKey(document.get().getStorageKey()));
+                record("rolled_forward");
+            } else {
+                documentStorage.discard(staged);
+                record("discarded");
+            }
+        }
+    }
+
+    private void reconcileShards(Instant cutoff) {
+        List<String> shards = documentStorage.shards();
+        if (shards.isEmpty()) {
+            return;
+        }
+        int count = Math.min(shardsPerRun, shards.size());
+        for (int i = 0; i < count; i++) {
+            shardCursor = shardCursor % shards.size();
+            reconcileShard(shards.get(shardCursor), cutoff);
+            shardCursor++;
+        }
+    }
+
+    private void reconcileShard(String shard, Instant cutoff) {
+        List<StoredObject> objects = documentStorage.list(shard).stream()
+            .filter(object -> object.lastModified().isBefore(cutoff))
+            .toList();
+        for (int from = 0; from < objects.size(); from += KEY_BATCH_SIZE) {
+            List<String> keys = objects.subList(from, Math.min(from + KEY_BATCH_SIZE, objects.size())).stream()
+                .map(StoredObject::storageKey)
+                .toList();
+            Set<String> referenced = documentRepository.findExistingStorageKeys(keys);
+            keys.stream()
+                .filter(key -> !referenced.contains(key))
+                .forEach(key -> handleOrphan(key, cutoff));
+        }
+    }
+
+    private void handleOrphan(String storageKey, Instant cutoff) {
+        if (!repair) {
+            LOGGER.warn("Stored content {} is not referenced by any document", storageKey);
+            record("orphan_found");
+            return;
+        }
+        boolean removed = documentStorage.removeIfUnreferenced(storageKey, cutoff,
+            key -> documentRepository.findExistingStorageKeys(List.of(key)).contains(key));
+        if (removed) {
+            LOGGER.info("Removed stored content {} not referenced by any document", storageKey);
+            record("orphan_removed");
+        }
+    }
+
+    private void reconcileDocuments(Instant cutoff) {
+        List<Document> documents = documentRepository.findDocumentAfter(documentCursor, rowsPerRun);
+        for (Document document : documents) {
+            if (document.getUploadedAt().isBefore(cutoff)
+                && !documentStorage.load(document.getStorageKey(), document.getId()).exists()) {
+                LOGGER.warn("Document {} references missing content {}", document.getId(), document.getStorageKey());
+                record("missing_content");
+            }
+        }
+        documentCursor = documents.size() < rowsPerRun ? null : documents.get(documents.size() - 1).getId();
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("documents.reconcile", "outcome", outcome).increment();
+    }
+}
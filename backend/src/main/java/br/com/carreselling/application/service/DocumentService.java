@@ -1,35 +1,102 @@
 package br.com.carreselling.application.service;
 
+import br.com.carreselling.application.service.model.DocumentArchive;
+import br.com.carreselling.application.service.model.DocumentContent;
+import br.com.carreselling.application.service.model.DocumentPreviewContent;
 import br.com.carreselling.application.service.model.DocumentSummary;
 import br.com.carreselling.domain.exception.NotFoundException;
 import br.com.carreselling.domain.model.Document;
+import br.com.carreselling.domain.model.DocumentPreview;
 import br.com.carreselling.domain.model.DocumentType;
+import br.com.carreselling.domain.model.Vehicle;
+import br.com.carreselling.domain.repository.DocumentPreviewRepository;
 import br.com.carreselling.domain.repository.DocumentRepository;
 import br.com.carreselling.domain.repository.VehicleRepository;
 import br.com.carreselling.infrastructure.storage.DocumentStorage;
+import br.com.carreselling.infrastructure.storage.LimitedDigestInputStream;
+import br.com.carreselling.infrastructure.storage.StagedBlob;
 import java.io.IOException;
+import jakarta.annotation.PreDestroy;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
-import org.springframework.core.io.Resource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class DocumentService implements IDocumentService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentService.class);
+
     private static final long MAX_FILE_SIZE_BYTES = 20L * 1024 * 1024;
+    private static final int MAX_PREVIEW_WIDTH = 4096;
 
     private final VehicleRepository vehicleRepository;
     private final DocumentRepository documentRepository;
+    private final DocumentPreviewRepository previewRepository;
     private final DocumentStorage documentStorage;
+    private final DocumentPreviewGenerator previewGenerator;
+    private final VehicleDetailCache detailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService publishExecutor;
+    private final Duration publishShutdownTimeout;
 
     public DocumentService(VehicleRepository vehicleRepository,
                            DocumentRepository documentRepository,
-                           DocumentStorage documentStorage) {
+                           DocumentPreviewRepository previewRepository,
+                           DocumentStorage documentStorage,
+                           DocumentPreviewGenerator previewGenerator,
+                           VehicleDetailCache detailCache,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${storage.publish.threads:4}") int publishThreads,
+                           @Value("${storage.publish.queue-capacity:256}") int publishQueueCapacity,
+                           @Value("${storage.publish.shutdown-timeout:PT30S}") Duration publishShutdownTimeout) {
         this.vehicleRepository = vehicleRepository;
         this.documentRepository = documentRepository;
+        this.previewRepository = previewRepository;
         this.documentStorage = documentStorage;
+        this.previewGenerator = previewGenerator;
+        this.detailCache = detailCache;
+        this.transactionTemplate = transactionTemplate;
+        // A full queue publishes on the uploading thread instead of growing without bound.
+        this.publishExecutor = new ThreadPoolExecutor(
+            publishThreads,
+            publishThreads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(publishQueueCapacity),
+            Thread.ofPlatform().name("document-publish-", 0).factory(),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.publishShutdownTimeout = publishShutdownTimeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publishExecutor.shutdown();
+        try {
+            if (!publishExecutor.awaitTermination(publishShutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Document publishing did not drain in {}; the reconciler will roll the rest forward",
+                    publishShutdownTimeout);
+                publishExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            publishExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
@@ -39,72 +106,242 @@ public class DocumentService implements IDocumentService {
         if (file.getSize() > MAX_FILE_SIZE_BYTES) {
             throw new IllegalArgumentException("File exceeds maximum size.");
         }
-        UUID documentId = UUID.randomUUID();
-        String originalFileName = file.getOriginalFilename() == null ? "document" : file.getOriginalFilename();
-        String storageKey;
-        try {
-            storageKey = documentStorage.store(vehicleId, documentId, originalFileName, file.getInputStream());
+        try (InputStream content = file.getInputStream()) {
+            return storeDocument(vehicleId, documentType, file.getOriginalFilename(), file.getContentType(), content);
         } catch (IOException ex) {
             throw new IllegalStateException("Failed to store document");
         }
+    }
+
+    @Override
+    public UUID uploadDocument(UUID vehicleId,
+                               DocumentType documentType,
+                               String originalFileName,
+                               String contentType,
+                               InputStream content) {
+        vehicleRepository.findVehicleById(vehicleId)
+            .orElseThrow(() -> new NotFoundException("Vehicle not found"));
+        return storeDocument(vehicleId, documentType, originalFileName, contentType, content);
+    }
+
+    private UUID storeDocument(UUID vehicleId,
+                               DocumentType documentType,
+                               String originalFileName,
+                               String contentType,
+                               InputStream content) {
+        UUID documentId = UUID.randomUUID();
+        String fileName = StringUtils.hasText(originalFileName) ? originalFileName : "document";
+        LimitedDigestInputStream digestingContent = new LimitedDigestInputStream(content, MAX_FILE_SIZE_BYTES);
+        String storedContentType = StringUtils.hasText(contentType) ? contentType : "application/octet-stream";
+        StagedBlob staged;
+        try {
+            staged = documentStorage.stage(vehicleId, documentId, fileName, storedContentType, digestingContent);
+        } catch (IllegalStateException ex) {
+            if (digestingContent.isLimitExceeded()) {
+                throw new IllegalArgumentException("File exceeds maximum size.");
+            }
+            throw ex;
+        }
         Document document = new Document(
             documentId,
             vehicleId,
             documentType,
-            originalFileName,
-            file.getContentType() == null ? "application/octet-stream" : file.getContentType(),
-            file.getSize(),
-            storageKey,
+            fileName,
+            storedContentType,
+            digestingContent.getCount(),
+            digestingContent.getSha256(),
+            staged.storedSizeBytes(),
+            staged.contentEncoding(),
+            staged.storageKey(),
             Instant.now(),
             "system"
         );
-        documentRepository.saveDocument(document);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                documentStorage.claim(staged);
+                documentRepository.saveDocument(document);
+            });
+        } catch (RuntimeException ex) {
+            documentStorage.discard(staged);
+            throw ex;
+        }
+        detailCache.invalidate(vehicleId);
+        publishExecutor.execute(() -> {
+            publish(staged);
+            previewGenerator.generate(document);
+        });
         return documentId;
     }
 
+    private void publish(StagedBlob staged) {
+        try {
+            documentStorage.publish(staged);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to publish document {}; it will be retried by the reconciler", staged.documentId(), ex);
+        }
+    }
+
+    @Override
+    public UUID linkDocument(UUID vehicleId,
+                             DocumentType documentType,
+                             String originalFileName,
+                             String contentType,
+                             String contentSha256) {
+        vehicleRepository.findVehicleById(vehicleId)
+            .orElseThrow(() -> new NotFoundException("Vehicle not found"));
+        String sha256 = contentSha256.toLowerCase(Locale.ROOT);
+        Document existing = documentRepository.findDocumentByContentSha256(sha256)
+            .filter(document -> documentStorage.reference(document.getStorageKey()))
+            .orElseThrow(() -> new NotFoundException("Document content not found"));
+        return saveDocument(new Document(
+            UUID.randomUUID(),
+            vehicleId,
+            documentType,
+            StringUtils.hasText(originalFileName) ? originalFileName : "document",
+            StringUtils.hasText(contentType) ? contentType : existing.getContentType(),
+            existing.getSizeBytes(),
+            sha256,
+            existing.getStoredSizeBytes(),
+            existing.getContentEncoding(),
+            existing.getStorageKey(),
+            Instant.now(),
+            "system"
+        ), existing);
+    }
+
+    private UUID saveDocument(Document document, Document source) {
+        try {
+            documentRepository.saveDocument(document);
+        } catch (RuntimeException ex) {
+            documentStorage.delete(document.getStorageKey());
+            throw ex;
+        }
+        detailCache.invalidate(document.getVehicleId());
+        if (!copyPreviews(source, document) && previewGenerator.supports(document)) {
+            publishExecutor.execute(() -> previewGenerator.generate(document));
+        }
+        return document.getId();
+    }
+
+    private boolean copyPreviews(Document source, Document target) {
+        boolean copied = false;
+        for (DocumentPreview preview : previewRepository.findPreviewByDocumentId(source.getId())) {
+            if (!documentStorage.reference(preview.getStorageKey())) {
+                continue;
+            }
+            try {
+                previewRepository.savePreview(new DocumentPreview(
+                    target.getId(),
+                    preview.getWidth(),
+                    preview.getHeight(),
+                    preview.getContentType(),
+                    preview.getSizeBytes(),
+                    preview.getStorageKey(),
+                    Instant.now()
+                ));
+                copied = true;
+            } catch (RuntimeException ex) {
+                documentStorage.delete(preview.getStorageKey());
+                LOGGER.warn("Failed to reuse preview {} for document {}", preview.getStorageKey(), target.getId(), ex);
+            }
+        }
+        return copied;
+    }
+
     @Override
     public List<DocumentSummary> listDocuments(UUID vehicleId) {
         vehicleRepository.findVehicleById(vehicleId)
             .orElseThrow(() -> new NotFoundException("Vehicle not found"));
         return documentRepository.findDocumentByVehicleId(vehicleId)
             .stream()
-            .map(doc -> new DocumentSummary(
-                doc.getId(),
-                doc.getVehicleId(),
-                doc.getDocumentType(),
-                doc.getOriginalFileName(),
-                doc.getContentType(),
-                doc.getSizeBytes(),
-                doc.getUploadedAt()
-            ))
+            .map(DocumentService::toSummary)
             .toList();
     }
 
     @Override
-    public Resource downloadDocument(UUID vehicleId, UUID documentId) {
+    public DocumentContent downloadDocument(UUID vehicleId, UUID documentId) {
         Document document = getDocumentEntity(vehicleId, documentId);
-        return documentStorage.load(document.getStorageKey());
+        return new DocumentContent(
+            toSummary(document),
+            documentStorage.load(document.getStorageKey(), document.getId()),
+            document.getContentEncoding()
+        );
     }
 
     @Override
-    public DocumentSummary getDocument(UUID vehicleId, UUID documentId) {
-        Document document = getDocumentEntity(vehicleId, documentId);
-        return new DocumentSummary(
-            document.getId(),
-            document.getVehicleId(),
-            document.getDocumentType(),
-            document.getOriginalFileName(),
-            document.getContentType(),
-            document.getSizeBytes(),
-            document.getUploadedAt()
+    public DocumentPreviewContent downloadPreview(UUID vehicleId, UUID documentId, int width) {
+        if (width < 1 || width > MAX_PREVIEW_WIDTH) {
+            throw new IllegalArgumentException("width: must be between 1 and " + MAX_PREVIEW_WIDTH + ".");
+        }
+        getDocumentEntity(vehicleId, documentId);
+        List<DocumentPreview> previews = previewRepository.findPreviewByDocumentId(documentId);
+        DocumentPreview preview = previews.stream()
+            .filter(candidate -> candidate.getWidth() >= width)
+            .findFirst()
+            .or(() -> previews.stream().reduce((first, second) -> second))
+            .orElseThrow(() -> new NotFoundException("Document preview not found"));
+        return new DocumentPreviewContent(
+            documentId,
+            preview.getWidth(),
+            preview.getHeight(),
+            preview.getContentType(),
+            preview.getSizeBytes(),
+            documentStorage.load(preview.getStorageKey())
         );
     }
 
+    @Override
+    public DocumentArchive archiveVehicleDocuments(UUID vehicleId) {
+        Vehicle vehicle = vehicleRepository.findVehicleById(vehicleId)
+            .orElseThrow(() -> new NotFoundException("Vehicle not found"));
+        return new DocumentArchive(vehicle.getLicensePlate() + "-documents.zip", outputStream -> {
+            DocumentArchiveWriter writer = new DocumentArchiveWriter(outputStream, documentStorage);
+            addVehicleDocuments(writer, vehicle);
+            writer.finish();
+        });
+    }
+
+    @Override
+    public DocumentArchive archiveSoldVehicleDocuments(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate: must not be before startDate.");
+        }
+        List<Vehicle> vehicles = vehicleRepository.findVehicleSoldBetween(startDate, endDate);
+        return new DocumentArchive("sold-vehicles-" + startDate + "-" + endDate + ".zip", outputStream -> {
+            DocumentArchiveWriter writer = new DocumentArchiveWriter(outputStream, documentStorage);
+            for (Vehicle vehicle : vehicles) {
+                addVehicleDocuments(writer, vehicle);
+            }
+            writer.finish();
+        });
+    }
+
+    private void addVehicleDocuments(DocumentArchiveWriter writer, Vehicle vehicle) throws IOException {
+        for (Document document : documentRepository.findDocumentByVehicleId(vehicle.getId())) {
+            writer.add(vehicle.getLicensePlate(), document);
+        }
+    }
+
+    @Override
+    public DocumentSummary getDocument(UUID vehicleId, UUID documentId) {
+        return toSummary(getDocumentEntity(vehicleId, documentId));
+    }
+
     @Override
     public void deleteDocument(UUID vehicleId, UUID documentId) {
         Document document = getDocumentEntity(vehicleId, documentId);
-        documentStorage.delete(document.getStorageKey());
+        List<DocumentPreview> previews = previewRepository.findPreviewByDocumentId(documentId);
+        previewRepository.deletePreviewByDocumentId(documentId);
         documentRepository.deleteDocument(documentId);
+        detailCache.invalidate(vehicleId);
+        try {
+            for (DocumentPreview preview : previews) {
+                documentStorage.delete(preview.getStorageKey());
+            }
+            documentStorage.delete(document.getStorageKey());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to delete content of document {}; it will be removed by the reconciler", documentId, ex);
+        }
     }
 
     private Document getDocumentEntity(UUID vehicleId, UUID documentId) {
@@ -115,4 +352,16 @@ public class DocumentService implements IDocumentService {
         }
         return document;
     }
+
+    private static DocumentSummary toSummary(Document document) {
+        return new DocumentSummary(
+            document.getId(),
+            document.getVehicleId(),
+            document.getDocumentType(),
+            document.getOriginalFileName(),
+            document.getContentType(),
+            document.getSizeBytes(),
+            document.getUploadedAt()
+        );
+    }
 }
@@ -6,4 +6,6 @@ import java.util.List;
 public interface IBrandService {
 
     List<BrandSummary> listBrands();
+
+    List<BrandSummary> autocompleteBrands(String prefix, int limit);
 }
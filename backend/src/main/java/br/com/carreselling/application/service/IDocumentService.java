@@ -1,19 +1,41 @@
 package br.com.carreselling.application.service;
 
+import br.com.carreselling.application.service.model.DocumentArchive;
+import br.com.carreselling.application.service.model.DocumentContent;
+import br.com.carreselling.application.service.model.DocumentPreviewContent;
 import br.com.carreselling.application.service.model.DocumentSummary;
 import br.com.carreselling.domain.model.DocumentType;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface IDocumentService {
 
     UUID uploadDocument(UUID vehicleId, DocumentType documentType, MultipartFile file);
 
+    UUID uploadDocument(UUID vehicleId,
+                        DocumentType documentType,
+                        String originalFileName,
+                        String contentType,
+                        InputStream content);
+
+    UUID linkDocument(UUID vehicleId,
+                      DocumentType documentType,
+                      String originalFileName,
+                      String contentType,
+                      String contentSha256);
+
     List<DocumentSummary> listDocuments(UUID vehicleId);
 
-    Resource downloadDocument(UUID vehicleId, UUID documentId);
+    DocumentContent downloadDocument(UUID vehicleId, UUID documentId);
+
+    DocumentPreviewContent downloadPreview(UUID vehicleId, UUID documentId, int width);
+
+    DocumentArchive archiveVehicleDocuments(UUID vehicleId);
+
+    DocumentArchive archiveSoldVehicleDocuments(LocalDate startDate, LocalDate endDate);
 
     DocumentSummary getDocument(UUID vehicleId, UUID documentId);
 
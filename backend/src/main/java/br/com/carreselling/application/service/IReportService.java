@@ -2,6 +2,8 @@ package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.DistributedVehiclesFilter;
 import br.com.carreselling.application.service.model.DistributedVehiclesReport;
+import br.com.carreselling.application.service.model.ReportExport;
+import br.com.carreselling.application.service.model.ReportFormat;
 import br.com.carreselling.application.service.model.SoldVehiclesReport;
 
 public interface IReportService {
@@ -9,4 +11,10 @@ public interface IReportService {
     DistributedVehiclesReport distributedVehiclesReport(DistributedVehiclesFilter filter);
 
     SoldVehiclesReport soldVehiclesReport(DistributedVehiclesFilter filter);
+
+    SoldVehiclesReport soldVehiclesReport(DistributedVehiclesFilter filter, int page, int size);
+
+    ReportExport exportSoldVehicles(DistributedVehiclesFilter filter, ReportFormat format);
+
+    ReportExport exportDistributedVehicles(DistributedVehiclesFilter filter, ReportFormat format);
 }
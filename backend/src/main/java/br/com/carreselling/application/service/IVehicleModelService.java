@@ -7,4 +7,6 @@ import java.util.UUID;
 public interface IVehicleModelService {
 
     List<VehicleModelSummary> listModelsByBrandId(UUID brandId);
+
+    List<VehicleModelSummary> autocompleteModels(UUID brandId, String prefix, int limit);
 }
@@ -1,12 +1,12 @@
 package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.VehicleDetail;
-import br.com.carreselling.application.service.model.VehicleSummary;
+import br.com.carreselling.application.service.model.VehicleListCursor;
+import br.com.carreselling.application.service.model.VehiclePage;
 import br.com.carreselling.application.service.model.VehicleTaxes;
 import br.com.carreselling.domain.model.SupplierSource;
 import br.com.carreselling.domain.model.VehicleStatus;
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.UUID;
 
 public interface IVehicleService {
@@ -25,10 +25,14 @@ public interface IVehicleService {
 
     VehicleDetail getVehicle(UUID vehicleId);
 
-    List<VehicleSummary> listVehicles(VehicleStatus status, String query, int page, int size);
+    VehiclePage listVehicles(VehicleStatus status, String query, int page, int size);
+
+    VehiclePage listVehiclesAfter(VehicleStatus status, String query, VehicleListCursor cursor, int size);
 
     long countVehicles(VehicleStatus status, String query);
 
+    long estimateVehicles(VehicleStatus status, String query);
+
     void updateVehicle(UUID vehicleId,
                        int year,
                        String color,
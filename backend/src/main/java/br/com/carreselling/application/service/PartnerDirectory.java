@@ -0,0 +1,78 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.Partner;
+import br.com.carreselling.domain.repository.PartnerRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PartnerDirectory {
+
+    private final PartnerRepository partnerRepository;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public PartnerDirectory(PartnerRepository partnerRepository) {
+        this.partnerRepository = partnerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        snapshot = Snapshot.of(partnerRepository.findPartner());
+    }
+
+    public Optional<Partner> findById(UUID partnerId) {
+        Partner partner = snapshot.byId().get(partnerId);
+        if (partner != null) {
+            return Optional.of(partner);
+        }
+        Optional<Partner> loaded = partnerRepository.findPartnerById(partnerId);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public Optional<Partner> findByName(String name) {
+        Partner partner = snapshot.byName().get(nameKey(name));
+        if (partner != null) {
+            return Optional.of(partner);
+        }
+        Optional<Partner> loaded = partnerRepository.findPartnerByName(name);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public synchronized void put(Partner partner) {
+        Map<UUID, Partner> byId = new HashMap<>(snapshot.byId());
+        byId.put(partner.getId(), partner);
+        snapshot = Snapshot.of(List.copyOf(byId.values()));
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<UUID, Partner> byId, Map<String, Partner> byName) {
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        private static Snapshot of(List<Partner> partners) {
+            Map<UUID, Partner> byId = new HashMap<>();
+            Map<String, Partner> byName = new HashMap<>();
+            for (Partner partner : partners) {
+                byId.put(partner.getId(), partner);
+                byName.put(nameKey(partner.getName()), partner);
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byName));
+        }
+    }
+}
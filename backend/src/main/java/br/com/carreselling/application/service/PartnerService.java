@@ -13,14 +13,16 @@ import org.springframework.stereotype.Service;
 public class PartnerService implements IPartnerService {
 
     private final PartnerRepository partnerRepository;
+    private final PartnerDirectory partnerDirectory;
 
-    public PartnerService(PartnerRepository partnerRepository) {
+    public PartnerService(PartnerRepository partnerRepository, PartnerDirectory partnerDirectory) {
         this.partnerRepository = partnerRepository;
+        this.partnerDirectory = partnerDirectory;
     }
 
     @Override
     public UUID createPartner(String name, String city) {
-        partnerRepository.findPartnerByName(name)
+        partnerDirectory.findByName(name)
             .ifPresent(existing -> {
                 throw new ConflictException("Partner name already exists");
             });
@@ -33,6 +35,7 @@ public class PartnerService implements IPartnerService {
             Instant.now()
         );
         partnerRepository.savePartner(partner);
+        partnerDirectory.put(partner);
         return partner.getId();
     }
 
@@ -0,0 +1,54 @@
+package br.com.carreselling.application.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+class PrefixTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    void put(String key, T value) {
+        Node<T> node = root;
+        for (char character : normalize(key).toCharArray()) {
+            node = node.children.computeIfAbsent(character, ignored -> new Node<>());
+        }
+        node.value = value;
+    }
+
+    List<T> findByPrefix(String prefix, int limit) {
+        Node<T> node = root;
+        for (char character : normalize(prefix).toCharArray()) {
+            node = node.children.get(character);
+            if (node == null) {
+                return List.of();
+            }
+        }
+        List<T> result = new ArrayList<>();
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty() && result.size() < limit) {
+            Node<T> current = pending.pop();
+            if (current.value != null) {
+                result.add(current.value);
+            }
+            for (Map.Entry<Character, Node<T>> child : current.children.descendingMap().entrySet()) {
+                pending.push(child.getValue());
+            }
+        }
+        return result;
+    }
+
+    static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node<T> {
+        private final ConcurrentSkipListMap<Character, Node<T>> children = new ConcurrentSkipListMap<>();
+        private volatile T value;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.application.service.model.ReportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ReportExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+    private final List<String> columns;
+
+    ReportExportWriter(ReportFormat format, ObjectMapper objectMapper, OutputStream outputStream, List<String> columns) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.columns = columns;
+        if (format == ReportFormat.CSV) {
+            writeCsvLine(new ArrayList<>(columns));
+        }
+    }
+
+    void writeRow(Map<String, Object> row) {
+        if (format == ReportFormat.NDJSON) {
+            writeJsonLine(row);
+            return;
+        }
+        List<Object> cells = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            cells.add(row.get(column));
+        }
+        writeCsvLine(cells);
+    }
+
+    void writeTotals(long count, Map<String, Object> sums) {
+        if (format == ReportFormat.NDJSON) {
+            Map<String, Object> totals = new LinkedHashMap<>();
+            totals.put("vehicles", count);
+            totals.putAll(sums);
+            writeJsonLine(Map.of("totals", totals));
+            return;
+        }
+        List<Object> cells = new ArrayList<>(columns.size());
+        cells.add("TOTAL");
+        cells.add(count);
+        for (String column : columns.subList(2, columns.size())) {
+            cells.add(sums.get(column));
+        }
+        writeCsvLine(cells);
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeJsonLine(Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeCsvLine(List<Object> cells) {
+        try {
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvCell(cells.get(i)));
+            }
+            writer.write("\r\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
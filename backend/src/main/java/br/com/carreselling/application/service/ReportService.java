@@ -2,8 +2,15 @@ package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.DistributedVehiclesFilter;
 import br.com.carreselling.application.service.model.DistributedVehiclesReport;
+import br.com.carreselling.application.service.model.ReportExport;
+import br.com.carreselling.application.service.model.ReportFormat;
 import br.com.carreselling.application.service.model.ReportPartnerGroup;
 import br.com.carreselling.application.service.model.ReportVehicleItem;
+import br.com.carreselling.application.service.model.SoldVehicleItem;
+import br.com.carreselling.application.service.model.SoldVehiclesReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -15,7 +22,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -23,69 +32,37 @@ import org.springframework.stereotype.Service;
 @Service
 public class ReportService implements IReportService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final List<String> SOLD_EXPORT_COLUMNS = List.of(
+        "vehicleId", "licensePlate", "brand", "model", "year", "soldAt",
+        "sellingPrice", "totalTaxes", "servicesTotal", "purchaseCommission", "profit");
+    private static final List<String> DISTRIBUTED_EXPORT_COLUMNS = List.of(
+        "partnerId", "partnerName", "vehicleId", "licensePlate", "brand", "model", "year", "distributedAt",
+        "purchasePrice", "purchaseCommission", "totalCost");
+
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
     private final VehicleSalesCalculator salesCalculator;
+    private final ObjectMapper objectMapper;
+    private final boolean soldReportMaterialized;
 
-    public ReportService(JdbcTemplate jdbcTemplate, VehicleSalesCalculator salesCalculator) {
+    public ReportService(JdbcTemplate jdbcTemplate,
+                         VehicleSalesCalculator salesCalculator,
+                         ObjectMapper objectMapper,
+                         @Value("${report.sold-vehicles.materialized:true}") boolean soldReportMaterialized,
+                         @Value("${report.export.fetch-size:-2147483648}") int exportFetchSize) {
         this.jdbcTemplate = jdbcTemplate;
         this.salesCalculator = salesCalculator;
+        this.objectMapper = objectMapper;
+        this.soldReportMaterialized = soldReportMaterialized;
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.streamingJdbcTemplate.setFetchSize(exportFetchSize);
     }
 
     @Override
     public DistributedVehiclesReport distributedVehiclesReport(DistributedVehiclesFilter filter) {
-        StringBuilder sql = new StringBuilder("""
-                SELECT p.id AS partner_id,
-                       p.name AS partner_name,
-                       v.id AS vehicle_id,
-                       v.license_plate,
-                       v.brand,
-                       v.model,
-                       v.year,
-                       DATE(COALESCE(v.distributed_at, v.updated_at)) AS distributed_at,
-                       v.purchase_price,
-                       COALESCE(v.purchase_commission, 0) AS purchase_commission,
-                       v.freight_cost,
-                       COALESCE(s.services_total, 0) AS services_total
-                FROM vehicles v
-                INNER JOIN partners p ON p.id = v.assigned_partner_id
-                LEFT JOIN (
-                    SELECT vehicle_id, SUM(service_value) AS services_total
-                    FROM services
-                    GROUP BY vehicle_id
-                ) s ON s.vehicle_id = v.id
-                WHERE v.status = 'DISTRIBUTED'
-                """);
-
         List<Object> params = new ArrayList<>();
-
-        if (filter != null) {
-            LocalDate startDate = filter.startDate();
-            LocalDate endDate = filter.endDate();
-            String brand = normalizeText(filter.brand());
-            String model = normalizeText(filter.model());
-            if (startDate != null) {
-                sql.append(" AND DATE(v.updated_at) >= ?");
-                params.add(Date.valueOf(startDate));
-            }
-            if (endDate != null) {
-                sql.append(" AND DATE(v.updated_at) <= ?");
-                params.add(Date.valueOf(endDate));
-            }
-            if (brand != null) {
-                sql.append(" AND UPPER(v.brand) LIKE ?");
-                params.add("%" + brand + "%");
-            }
-            if (model != null) {
-                sql.append(" AND UPPER(v.model) LIKE ?");
-                params.add("%" + model + "%");
-            }
-            if (filter.partnerId() != null) {
-                sql.append(" AND v.assigned_partner_id = ?");
-                params.add(filter.partnerId().toString());
-            }
-        }
-
-        sql.append(" ORDER BY p.name, v.license_plate");
+        StringBuilder sql = distributedQuery(filter, params);
 
         List<ReportRow> rows = jdbcTemplate.query(
             Objects.requireNonNull(sql.toString()),
@@ -133,43 +110,323 @@ public class ReportService implements IReportService {
     }
 
     @Override
-    public br.com.carreselling.application.service.model.SoldVehiclesReport soldVehiclesReport(
-        DistributedVehiclesFilter filter
-    ) {
+    public SoldVehiclesReport soldVehiclesReport(DistributedVehiclesFilter filter) {
+        if (!soldReportMaterialized) {
+            return liveSoldVehiclesReport(filter);
+        }
+        return materializedSoldVehiclesReport(filter, null, 0);
+    }
+
+    @Override
+    public SoldVehiclesReport soldVehiclesReport(DistributedVehiclesFilter filter, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page: cannot be negative.");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size: must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (!soldReportMaterialized) {
+            SoldVehiclesReport report = liveSoldVehiclesReport(filter);
+            int from = (int) Math.min((long) page * size, report.vehicles().size());
+            int to = Math.min(from + size, report.vehicles().size());
+            return new SoldVehiclesReport(
+                report.vehicles().subList(from, to),
+                report.totalVehiclesSold(),
+                report.totalSoldValue(),
+                report.totalTaxesValue(),
+                report.totalServiceValue(),
+                report.totalCommissionValue(),
+                report.profit()
+            );
+        }
+        return materializedSoldVehiclesReport(filter, size, (long) page * size);
+    }
+
+    private SoldVehiclesReport materializedSoldVehiclesReport(DistributedVehiclesFilter filter,
+                                                              Integer limit,
+                                                              long offset) {
+        StringBuilder totalsSql = new StringBuilder("""
+                SELECT COALESCE(SUM(vehicles_sold), 0) AS vehicles_sold,
+                       COALESCE(SUM(total_sold), 0) AS total_sold,
+                       COALESCE(SUM(total_taxes), 0) AS total_taxes,
+                       COALESCE(SUM(total_services), 0) AS total_services,
+                       COALESCE(SUM(total_commission), 0) AS total_commission,
+                       COALESCE(SUM(total_profit), 0) AS total_profit
+                FROM sale_daily_rollup
+                WHERE 1=1
+                """);
+        List<Object> totalsParams = new ArrayList<>();
+        appendSaleFilter(totalsSql, totalsParams, filter);
+
+        StringBuilder itemsSql = new StringBuilder("""
+                SELECT vehicle_id, license_plate, brand, model, year, sold_on,
+                       selling_price, total_taxes, services_total, purchase_commission
+                FROM sale_facts
+                WHERE 1=1
+                """);
+        List<Object> itemsParams = new ArrayList<>();
+        appendSaleFilter(itemsSql, itemsParams, filter);
+        itemsSql.append(" ORDER BY sold_on DESC, vehicle_id DESC");
+        if (limit != null) {
+            itemsSql.append(" LIMIT ? OFFSET ?");
+            itemsParams.add(limit);
+            itemsParams.add(offset);
+        }
+
+        List<SoldVehicleItem> items = jdbcTemplate.query(
+            itemsSql.toString(),
+            new SoldVehicleItemRowMapper(),
+            itemsParams.toArray(new Object[0])
+        );
+        return jdbcTemplate.queryForObject(
+            totalsSql.toString(),
+            (rs, rowNum) -> new SoldVehiclesReport(
+                items,
+                rs.getInt("vehicles_sold"),
+                rs.getBigDecimal("total_sold"),
+                rs.getBigDecimal("total_taxes"),
+                rs.getBigDecimal("total_services"),
+                rs.getBigDecimal("total_commission"),
+                rs.getBigDecimal("total_profit")
+            ),
+            totalsParams.toArray(new Object[0])
+        );
+    }
+
+    @Override
+    public ReportExport exportSoldVehicles(DistributedVehiclesFilter filter, ReportFormat format) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql;
+        if (soldReportMaterialized) {
+            sql = new StringBuilder("""
+                    SELECT vehicle_id, license_plate, brand, model, year, sold_on,
+                           selling_price, total_taxes, services_total, purchase_commission,
+                           commission_ir, profit
+                    FROM sale_facts
+                    WHERE 1=1
+                    """);
+            appendSaleFilter(sql, params, filter);
+            sql.append(" ORDER BY sold_on DESC, vehicle_id DESC");
+        } else {
+            sql = liveSoldQuery(filter, params);
+        }
+        RowMapper<VehicleSalesCalculator.SaleLine> lineMapper = soldReportMaterialized
+            ? new SaleLineRowMapper()
+            : (rs, rowNum) -> salesCalculator.calculateLine(new SoldVehicleRowMapper().mapRow(rs, rowNum));
+
+        return new ReportExport(
+            exportFileName("sold-vehicles", format),
+            format.getContentType(),
+            outputStream -> {
+                ReportExportWriter writer =
+                    new ReportExportWriter(format, objectMapper, outputStream, SOLD_EXPORT_COLUMNS);
+                SoldTotals totals = new SoldTotals();
+                stream(sql.toString(), params, rs -> {
+                    VehicleSalesCalculator.SaleLine line = lineMapper.mapRow(rs, 0);
+                    SoldVehicleItem item = line.item();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("vehicleId", item.vehicleId());
+                    row.put("licensePlate", item.licensePlate());
+                    row.put("brand", item.brand());
+                    row.put("model", item.model());
+                    row.put("year", item.year());
+                    row.put("soldAt", item.soldAt());
+                    row.put("sellingPrice", item.sellingPrice());
+                    row.put("totalTaxes", item.totalTaxes());
+                    row.put("servicesTotal", item.servicesTotal());
+                    row.put("purchaseCommission", item.purchaseCommission());
+                    row.put("profit", line.profit());
+                    writer.writeRow(row);
+                    totals.add(line);
+                });
+                Map<String, Object> sums = new LinkedHashMap<>();
+                sums.put("sellingPrice", totals.sold);
+                sums.put("totalTaxes", totals.taxes);
+                sums.put("servicesTotal", totals.services);
+                sums.put("purchaseCommission", totals.commission);
+                sums.put("profit", totals.profit);
+                writer.writeTotals(totals.count, sums);
+                writer.flush();
+            }
+        );
+    }
+
+    @Override
+    public ReportExport exportDistributedVehicles(DistributedVehiclesFilter filter, ReportFormat format) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = distributedQuery(filter, params);
+        ReportRowMapper rowMapper = new ReportRowMapper();
+
+        return new ReportExport(
+            exportFileName("distributed-vehicles", format),
+            format.getContentType(),
+            outputStream -> {
+                ReportExportWriter writer =
+                    new ReportExportWriter(format, objectMapper, outputStream, DISTRIBUTED_EXPORT_COLUMNS);
+                DistributedTotals totals = new DistributedTotals();
+                stream(sql.toString(), params, rs -> {
+                    ReportRow reportRow = rowMapper.mapRow(rs, 0);
+                    BigDecimal totalCost = reportRow.purchasePrice()
+                        .add(reportRow.freightCost())
+                        .add(reportRow.servicesTotal());
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("partnerId", reportRow.partnerId());
+                    row.put("partnerName", reportRow.partnerName());
+                    row.put("vehicleId", reportRow.vehicleId());
+                    row.put("licensePlate", reportRow.licensePlate());
+                    row.put("brand", reportRow.brand());
+                    row.put("model", reportRow.model());
+                    row.put("year", reportRow.year());
+                    row.put("distributedAt", reportRow.distributedAt());
+                    row.put("purchasePrice", reportRow.purchasePrice());
+                    row.put("purchaseCommission", reportRow.purchaseCommission());
+                    row.put("totalCost", totalCost);
+                    writer.writeRow(row);
+                    totals.count++;
+                    totals.purchase = totals.purchase.add(reportRow.purchasePrice());
+                    totals.cost = totals.cost.add(totalCost);
+                });
+                Map<String, Object> sums = new LinkedHashMap<>();
+                sums.put("purchasePrice", totals.purchase);
+                sums.put("totalCost", totals.cost);
+                writer.writeTotals(totals.count, sums);
+                writer.flush();
+            }
+        );
+    }
+
+    private void stream(String sql, List<Object> params, RowCallbackHandler handler) throws IOException {
+        try {
+            streamingJdbcTemplate.query(sql, handler, params.toArray(new Object[0]));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static String exportFileName(String report, ReportFormat format) {
+        return report + "-" + LocalDate.now() + "." + format.getExtension();
+    }
+
+    private void appendSaleFilter(StringBuilder sql, List<Object> params, DistributedVehiclesFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        String brand = normalizeText(filter.brand());
+        String model = normalizeText(filter.model());
+        if (filter.startDate() != null) {
+            sql.append(" AND sold_on >= ?");
+            params.add(Date.valueOf(filter.startDate()));
+        }
+        if (filter.endDate() != null) {
+            sql.append(" AND sold_on < ?");
+            params.add(Date.valueOf(filter.endDate().plusDays(1)));
+        }
+        if (brand != null) {
+            sql.append(" AND UPPER(brand) LIKE ?");
+            params.add("%" + brand + "%");
+        }
+        if (model != null) {
+            sql.append(" AND UPPER(model) LIKE ?");
+            params.add("%" + model + "%");
+        }
+        if (filter.partnerId() != null) {
+            sql.append(" AND partner_id = ?");
+            params.add(filter.partnerId().toString());
+        }
+    }
+
+    private SoldVehiclesReport liveSoldVehiclesReport(DistributedVehiclesFilter filter) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = liveSoldQuery(filter, params);
+
+        List<VehicleSalesCalculator.SoldVehicleRaw> rows = jdbcTemplate.query(
+            java.util.Objects.requireNonNull(sql.toString()),
+            new SoldVehicleRowMapper(),
+            params.toArray(new Object[0])
+        );
+
+        return salesCalculator.buildReport(rows);
+    }
+
+    static StringBuilder distributedQuery(DistributedVehiclesFilter filter, List<Object> params) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT p.id AS partner_id,
+                       p.name AS partner_name,
+                       v.id AS vehicle_id,
+                       v.license_plate,
+                       v.brand,
+                       v.model,
+                       v.year,
+                       DATE(v.distributed_at) AS distributed_at,
+                       v.purchase_price,
+                       COALESCE(v.purchase_commission, 0) AS purchase_commission,
+                       v.freight_cost,
+                       v.services_total
+                FROM vehicles v
+                INNER JOIN partners p ON p.id = v.assigned_partner_id
+                WHERE v.status = 'DISTRIBUTED'
+                """);
+
+        if (filter != null) {
+            LocalDate startDate = filter.startDate();
+            LocalDate endDate = filter.endDate();
+            String brand = normalizeText(filter.brand());
+            String model = normalizeText(filter.model());
+            if (startDate != null) {
+                sql.append(" AND v.distributed_at >= ?");
+                params.add(Date.valueOf(startDate));
+            }
+            if (endDate != null) {
+                sql.append(" AND v.distributed_at < ?");
+                params.add(Date.valueOf(endDate.plusDays(1)));
+            }
+            if (brand != null) {
+                sql.append(" AND UPPER(v.brand) LIKE ?");
+                params.add("%" + brand + "%");
+            }
+            if (model != null) {
+                sql.append(" AND UPPER(v.model) LIKE ?");
+                params.add("%" + model + "%");
+            }
+            if (filter.partnerId() != null) {
+                sql.append(" AND v.assigned_partner_id = ?");
+                params.add(filter.partnerId().toString());
+            }
+        }
+
+        sql.append(" ORDER BY p.name, v.license_plate");
+        return sql;
+    }
+
+    static StringBuilder liveSoldQuery(DistributedVehiclesFilter filter, List<Object> params) {
         StringBuilder sql = new StringBuilder("""
                 SELECT v.id AS vehicle_id,
                        v.license_plate,
                        v.brand,
                        v.model,
                        v.year,
-                       DATE(v.updated_at) AS sold_at,
+                       DATE(v.sold_at) AS sold_at,
                        v.purchase_price,
                        COALESCE(v.purchase_commission, 0) AS purchase_commission,
                        v.freight_cost,
                        v.selling_price,
-                       COALESCE(s.services_total, 0) AS services_total
+                       v.services_total
                 FROM vehicles v
-                LEFT JOIN (
-                    SELECT vehicle_id, SUM(service_value) AS services_total
-                    FROM services
-                    GROUP BY vehicle_id
-                ) s ON s.vehicle_id = v.id
                 WHERE v.status = 'SOLD' AND v.selling_price IS NOT NULL
                 """);
 
-        List<Object> params = new ArrayList<>();
         if (filter != null) {
             LocalDate startDate = filter.startDate();
             LocalDate endDate = filter.endDate();
             String brand = normalizeText(filter.brand());
             String model = normalizeText(filter.model());
             if (startDate != null) {
-                sql.append(" AND DATE(v.updated_at) >= ?");
+                sql.append(" AND v.sold_at >= ?");
                 params.add(Date.valueOf(startDate));
             }
             if (endDate != null) {
-                sql.append(" AND DATE(v.updated_at) <= ?");
-                params.add(Date.valueOf(endDate));
+                sql.append(" AND v.sold_at < ?");
+                params.add(Date.valueOf(endDate.plusDays(1)));
             }
             if (brand != null) {
                 sql.append(" AND UPPER(v.brand) LIKE ?");
@@ -184,18 +441,11 @@ public class ReportService implements IReportService {
                 params.add(filter.partnerId().toString());
             }
         }
-        sql.append(" ORDER BY v.updated_at DESC");
-
-        List<VehicleSalesCalculator.SoldVehicleRaw> rows = jdbcTemplate.query(
-            java.util.Objects.requireNonNull(sql.toString()),
-            new SoldVehicleRowMapper(),
-            params.toArray(new Object[0])
-        );
-
-        return salesCalculator.buildReport(rows);
+        sql.append(" ORDER BY v.sold_at DESC");
+        return sql;
     }
 
-    private String normalizeText(String value) {
+    private static String normalizeText(String value) {
         if (value == null) {
             return null;
         }
@@ -241,6 +491,25 @@ public class ReportService implements IReportService {
         }
     }
 
+    private static class SoldVehicleItemRowMapper implements RowMapper<SoldVehicleItem> {
+
+        @Override
+        public SoldVehicleItem mapRow(@NonNull ResultSet rs, int rowNum) throws SQLException {
+            return new SoldVehicleItem(
+                UUID.fromString(rs.getString("vehicle_id")),
+                rs.getString("license_plate"),
+                rs.getString("brand"),
+                rs.getString("model"),
+                rs.getInt("year"),
+                rs.getDate("sold_on").toLocalDate(),
+                rs.getBigDecimal("selling_price"),
+                rs.getBigDecimal("total_taxes"),
+                rs.getBigDecimal("services_total"),
+                rs.getBigDecimal("purchase_commission")
+            );
+        }
+    }
+
     private static class ReportRowMapper implements RowMapper<ReportRow> {
 
         @Override
@@ -262,6 +531,44 @@ public class ReportService implements IReportService {
         }
     }
 
+    private static class SaleLineRowMapper implements RowMapper<VehicleSalesCalculator.SaleLine> {
+
+        private final SoldVehicleItemRowMapper itemMapper = new SoldVehicleItemRowMapper();
+
+        @Override
+        public VehicleSalesCalculator.SaleLine mapRow(@NonNull ResultSet rs, int rowNum) throws SQLException {
+            return new VehicleSalesCalculator.SaleLine(
+                itemMapper.mapRow(rs, rowNum),
+                rs.getBigDecimal("commission_ir"),
+                rs.getBigDecimal("profit")
+            );
+        }
+    }
+
+    private static class SoldTotals {
+        private long count;
+        private BigDecimal sold = BigDecimal.ZERO;
+        private BigDecimal taxes = BigDecimal.ZERO;
+        private BigDecimal services = BigDecimal.ZERO;
+        private BigDecimal commission = BigDecimal.ZERO;
+        private BigDecimal profit = BigDecimal.ZERO;
+
+        private void add(VehicleSalesCalculator.SaleLine line) {
+            count++;
+            sold = sold.add(line.item().sellingPrice());
+            taxes = taxes.add(line.item().totalTaxes());
+            services = services.add(line.item().servicesTotal());
+            commission = commission.add(line.item().purchaseCommission());
+            profit = profit.add(line.profit());
+        }
+    }
+
+    private static class DistributedTotals {
+        private long count;
+        private BigDecimal purchase = BigDecimal.ZERO;
+        private BigDecimal cost = BigDecimal.ZERO;
+    }
+
     private static class PartnerAccumulator {
         private final UUID partnerId;
         private final String partnerName;
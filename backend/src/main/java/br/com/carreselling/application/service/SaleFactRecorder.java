@@ -0,0 +1,162 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.SaleFact;
+import br.com.carreselling.domain.model.Vehicle;
+import br.com.carreselling.domain.model.VehicleStatus;
+import br.com.carreselling.domain.repository.SaleFactRepository;
+import br.com.carreselling.domain.repository.VehicleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SaleFactRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaleFactRecorder.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final VehicleRepository vehicleRepository;
+    private final SaleFactRepository saleFactRepository;
+    private final VehicleSalesCalculator salesCalculator;
+    private final TransactionTemplate transactionTemplate;
+    private final int checkBatchSize;
+    private final boolean repair;
+    private final Counter mismatches;
+
+    public SaleFactRecorder(VehicleRepository vehicleRepository,
+                            SaleFactRepository saleFactRepository,
+                            VehicleSalesCalculator salesCalculator,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${report.sale-facts.check-batch-size:500}") int checkBatchSize,
+                            @Value("${report.sale-facts.repair:true}") boolean repair) {
+        this.vehicleRepository = vehicleRepository;
+        this.saleFactRepository = saleFactRepository;
+        this.salesCalculator = salesCalculator;
+        this.transactionTemplate = transactionTemplate;
+        this.checkBatchSize = checkBatchSize;
+        this.repair = repair;
+        this.mismatches = meterRegistry.counter("sale_facts.mismatch");
+    }
+
+    public void refresh(UUID vehicleId) {
+        transactionTemplate.executeWithoutResult(status -> record(vehicleId));
+    }
+
+    private void record(UUID vehicleId) {
+        Optional<Vehicle> vehicle = vehicleRepository.findVehicleByIdForUpdate(vehicleId);
+        Optional<SaleFact> previous = saleFactRepository.findSaleFactByVehicleId(vehicleId);
+        previous.ifPresent(fact -> saleFactRepository.applyRollupDelta(fact, -1));
+        if (vehicle.isEmpty() || !isSold(vehicle.get())) {
+            previous.ifPresent(fact -> saleFactRepository.deleteSaleFact(vehicleId));
+            return;
+        }
+        SaleFact fact = toSaleFact(vehicle.get(), soldOn(vehicle.get()));
+        saleFactRepository.saveSaleFact(fact);
+        saleFactRepository.applyRollupDelta(fact, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Thread.ofVirtual().name("sale-fact-backfill").start(() -> {
+            try {
+                int recorded = 0;
+                List<UUID> pending;
+                do {
+                    pending = saleFactRepository.findSoldVehicleIdWithoutSaleFact(BACKFILL_BATCH_SIZE);
+                    pending.forEach(this::refresh);
+                    recorded += pending.size();
+                } while (pending.size() == BACKFILL_BATCH_SIZE);
+                if (recorded > 0) {
+                    LOGGER.info("Backfilled {} sale facts", recorded);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Sale fact backfill failed", ex);
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${report.sale-facts.check-initial-delay:PT10M}",
+        fixedDelayString = "${report.sale-facts.check-interval:PT1H}")
+    public void check() {
+        try {
+            UUID cursor = null;
+            List<UUID> page;
+            do {
+                page = vehicleRepository.findVehicleIdAfter(cursor, checkBatchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                saleFactRepository.findVehicleIdWithStaleSaleFact(page).forEach(this::handleMismatch);
+                cursor = page.get(page.size() - 1);
+            } while (page.size() == checkBatchSize);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Sale fact consistency check failed", ex);
+        }
+    }
+
+    private void handleMismatch(UUID vehicleId) {
+        mismatches.increment();
+        LOGGER.warn("Sale fact of vehicle {} does not match the vehicle", vehicleId);
+        if (repair) {
+            refresh(vehicleId);
+        }
+    }
+
+    private SaleFact toSaleFact(Vehicle vehicle, LocalDate soldOn) {
+        BigDecimal servicesTotal = vehicleRepository.findVehicleServicesTotalByVehicleId(vehicle.getId());
+        VehicleSalesCalculator.SaleLine line = salesCalculator.calculateLine(new VehicleSalesCalculator.SoldVehicleRaw(
+            vehicle.getId(),
+            vehicle.getLicensePlate(),
+            vehicle.getBrand(),
+            vehicle.getModel(),
+            vehicle.getYear(),
+            soldOn,
+            vehicle.getPurchasePrice(),
+            vehicle.getPurchaseCommission(),
+            vehicle.getFreightCost(),
+            vehicle.getSellingPrice(),
+            servicesTotal
+        ));
+        return new SaleFact(
+            vehicle.getId(),
+            soldOn,
+            vehicle.getLicensePlate(),
+            vehicle.getBrand(),
+            vehicle.getModel(),
+            vehicle.getYear(),
+            vehicle.getAssignedPartnerId(),
+            line.item().sellingPrice(),
+            vehicle.getPurchasePrice(),
+            line.item().purchaseCommission(),
+            vehicle.getFreightCost(),
+            line.item().servicesTotal(),
+            line.item().totalTaxes(),
+            line.commissionIr(),
+            line.profit()
+        );
+    }
+
+    private static boolean isSold(Vehicle vehicle) {
+        return vehicle.getStatus() == VehicleStatus.SOLD && vehicle.getSellingPrice() != null;
+    }
+
+    private static LocalDate soldOn(Vehicle vehicle) {
+        Instant soldAt = vehicle.getSoldAt() != null ? vehicle.getSoldAt() : vehicle.getUpdatedAt();
+        return LocalDate.ofInstant(soldAt == null ? Instant.now() : soldAt, ZoneId.systemDefault());
+    }
+}
@@ -13,19 +13,28 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ServiceEntryService implements IServiceEntryService {
 
     private final VehicleRepository vehicleRepository;
     private final ServiceRepository serviceRepository;
+    private final VehicleDetailCache detailCache;
+    private final SaleFactRecorder saleFactRecorder;
 
-    public ServiceEntryService(VehicleRepository vehicleRepository, ServiceRepository serviceRepository) {
+    public ServiceEntryService(VehicleRepository vehicleRepository,
+                               ServiceRepository serviceRepository,
+                               VehicleDetailCache detailCache,
+                               SaleFactRecorder saleFactRecorder) {
         this.vehicleRepository = vehicleRepository;
         this.serviceRepository = serviceRepository;
+        this.detailCache = detailCache;
+        this.saleFactRecorder = saleFactRecorder;
     }
 
     @Override
+    @Transactional
     public UUID addService(UUID vehicleId,
                            ServiceType serviceType,
                            BigDecimal serviceValue,
@@ -48,6 +57,9 @@ public class ServiceEntryService implements IServiceEntryService {
             Instant.now()
         );
         serviceRepository.saveService(entry);
+        vehicleRepository.applyServicesDelta(vehicleId, serviceValue, 1);
+        saleFactRecorder.refresh(vehicleId);
+        detailCache.invalidate(vehicleId);
         return entry.getId();
     }
 
@@ -74,6 +86,7 @@ public class ServiceEntryService implements IServiceEntryService {
     }
 
     @Override
+    @Transactional
     public void updateService(UUID vehicleId,
                               UUID serviceId,
                               ServiceType serviceType,
@@ -88,12 +101,23 @@ public class ServiceEntryService implements IServiceEntryService {
         if (!service.getVehicleId().equals(vehicleId)) {
             throw new NotFoundException("Service not found for vehicle");
         }
+        if (serviceValue == null || serviceValue.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("serviceValue: cannot be negative.");
+        }
+        BigDecimal previousValue = service.getServiceValue();
         service.update(serviceType, description, serviceValue, performedAt);
         service.setUpdatedAt(Instant.now());
         serviceRepository.updateService(service);
+        BigDecimal delta = service.getServiceValue().subtract(previousValue);
+        if (delta.signum() != 0) {
+            vehicleRepository.applyServicesDelta(vehicleId, delta, 0);
+            saleFactRecorder.refresh(vehicleId);
+        }
+        detailCache.invalidate(vehicleId);
     }
 
     @Override
+    @Transactional
     public void deleteService(UUID vehicleId, UUID serviceId) {
         Vehicle vehicle = vehicleRepository.findVehicleById(vehicleId)
             .orElseThrow(() -> new NotFoundException("Vehicle not found"));
@@ -104,5 +128,8 @@ public class ServiceEntryService implements IServiceEntryService {
             throw new NotFoundException("Service not found for vehicle");
         }
         serviceRepository.deleteService(serviceId);
+        vehicleRepository.applyServicesDelta(vehicleId, service.getServiceValue().negate(), -1);
+        saleFactRecorder.refresh(vehicleId);
+        detailCache.invalidate(vehicleId);
     }
 }
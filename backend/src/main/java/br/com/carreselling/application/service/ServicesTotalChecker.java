@@ -0,0 +1,64 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.repository.VehicleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServicesTotalChecker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServicesTotalChecker.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleDetailCache detailCache;
+    private final int batchSize;
+    private final boolean repair;
+    private final Counter mismatches;
+
+    public ServicesTotalChecker(VehicleRepository vehicleRepository,
+                                VehicleDetailCache detailCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${vehicle.services-total.check-batch-size:500}") int batchSize,
+                                @Value("${vehicle.services-total.repair:true}") boolean repair) {
+        this.vehicleRepository = vehicleRepository;
+        this.detailCache = detailCache;
+        this.batchSize = batchSize;
+        this.repair = repair;
+        this.mismatches = meterRegistry.counter("vehicle.services_total.mismatch");
+    }
+
+    @Scheduled(initialDelayString = "${vehicle.services-total.check-initial-delay:PT5M}",
+        fixedDelayString = "${vehicle.services-total.check-interval:PT1H}")
+    public void check() {
+        try {
+            UUID cursor = null;
+            List<UUID> page;
+            do {
+                page = vehicleRepository.findVehicleIdAfter(cursor, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                vehicleRepository.findVehicleIdWithServicesTotalMismatch(page).forEach(this::handleMismatch);
+                cursor = page.get(page.size() - 1);
+            } while (page.size() == batchSize);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Services total consistency check failed", ex);
+        }
+    }
+
+    private void handleMismatch(UUID vehicleId) {
+        mismatches.increment();
+        LOGGER.warn("Services total of vehicle {} does not match its services", vehicleId);
+        if (repair) {
+            vehicleRepository.resyncServicesTotal(vehicleId);
+            detailCache.invalidate(vehicleId);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.Brand;
+import br.com.carreselling.domain.model.VehicleModel;
+import br.com.carreselling.domain.repository.BrandRepository;
+import br.com.carreselling.domain.repository.VehicleModelRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class VehicleCatalog {
+
+    private static final Comparator<Brand> BRAND_ORDER =
+        Comparator.comparing(brand -> PrefixTrie.normalize(brand.getName()));
+    private static final Comparator<VehicleModel> MODEL_ORDER =
+        Comparator.comparing(model -> PrefixTrie.normalize(model.getName()));
+
+    private final BrandRepository brandRepository;
+    private final VehicleModelRepository vehicleModelRepository;
+    private final Duration reloadInterval;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Catalog catalog;
+
+    public VehicleCatalog(BrandRepository brandRepository,
+                          VehicleModelRepository vehicleModelRepository,
+                          @Value("${vehicle.catalog.reload-interval:PT10M}") Duration reloadInterval) {
+        this.brandRepository = brandRepository;
+        this.vehicleModelRepository = vehicleModelRepository;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        writeLock.lock();
+        try {
+            catalog = buildCatalog();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<Brand> listBrands() {
+        return current().brandsById.values().stream()
+            .sorted(BRAND_ORDER)
+            .toList();
+    }
+
+    public List<Brand> autocompleteBrands(String prefix, int limit) {
+        return current().brandTrie.findByPrefix(prefix, limit);
+    }
+
+    public List<VehicleModel> listModels(UUID brandId) {
+        return modelsOf(current(), brandId).byName.values().stream()
+            .distinct()
+            .sorted(MODEL_ORDER)
+            .toList();
+    }
+
+    public List<VehicleModel> autocompleteModels(UUID brandId, String prefix, int limit) {
+        return modelsOf(current(), brandId).trie.findByPrefix(prefix, limit);
+    }
+
+    public Brand getOrCreateBrand(String name, Instant now) {
+        String key = PrefixTrie.normalize(name);
+        Brand cached = current().brandsByName.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Brand brand = insertOrFind(
+            () -> brandRepository.saveBrand(new Brand(UUID.randomUUID(), name, now, now)),
+            () -> brandRepository.findBrandByName(name)
+        );
+        afterCommit(() -> {
+            Catalog state = current();
+            if (!state.brandsByName.containsKey(key)) {
+                state.addBrand(brand);
+            }
+        });
+        return brand;
+    }
+
+    public VehicleModel getOrCreateModel(UUID brandId, String name, Instant now) {
+        String key = PrefixTrie.normalize(name);
+        VehicleModel cached = modelsOf(current(), brandId).byName.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        VehicleModel model = insertOrFind(
+            () -> vehicleModelRepository.saveModel(new VehicleModel(UUID.randomUUID(), brandId, name, now, now)),
+            () -> vehicleModelRepository.findModelByBrandIdAndName(brandId, name)
+        );
+        afterCommit(() -> {
+            // A brand whose models are not indexed yet loads them, this one included, on next use.
+            ModelIndex models = current().modelsByBrand.get(brandId);
+            if (models != null && !models.byName.containsKey(key)) {
+                models.add(model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Rows inserted inside a transaction only enter the catalog once it commits, so a
+     * rollback never leaves the catalog pointing at a brand or model that does not exist.
+     */
+    private void afterCommit(Runnable update) {
+        Runnable locked = () -> {
+            writeLock.lock();
+            try {
+                update.run();
+            } finally {
+                writeLock.unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    private <T> T insertOrFind(Supplier<T> insert, Supplier<Optional<T>> find) {
+        Optional<T> existing = find.get();
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            return insert.get();
+        } catch (DuplicateKeyException ex) {
+            return find.get().orElseThrow(() -> ex);
+        }
+    }
+
+    private ModelIndex modelsOf(Catalog state, UUID brandId) {
+        ModelIndex models = state.modelsByBrand.get(brandId);
+        if (models != null) {
+            return models;
+        }
+        ModelIndex loaded = new ModelIndex();
+        vehicleModelRepository.findModelsByBrandId(brandId).forEach(loaded::add);
+        if ((loaded.byName.isEmpty() && !state.brandsById.containsKey(brandId))
+            || TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Reads inside a transaction may include its own uncommitted rows.
+            return loaded;
+        }
+        ModelIndex raced = state.modelsByBrand.putIfAbsent(brandId, loaded);
+        return raced == null ? loaded : raced;
+    }
+
+    private Catalog current() {
+        Catalog state = catalog;
+        if (state == null) {
+            load();
+            return catalog;
+        }
+        if (state.loadedAt.plus(reloadInterval).isBefore(Instant.now())
+            && !TransactionSynchronizationManager.isActualTransactionActive()
+            && writeLock.tryLock()) {
+            try {
+                catalog = buildCatalog();
+                return catalog;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return state;
+    }
+
+    private Catalog buildCatalog() {
+        Catalog state = new Catalog(Instant.now());
+        brandRepository.findBrands().forEach(state::addBrand);
+        for (VehicleModel model : vehicleModelRepository.findModels()) {
+            state.modelsByBrand.computeIfAbsent(model.getBrandId(), ignored -> new ModelIndex()).add(model);
+        }
+        return state;
+    }
+
+    private static class Catalog {
+        private final Instant loadedAt;
+        private final Map<UUID, Brand> brandsById = new ConcurrentHashMap<>();
+        private final Map<String, Brand> brandsByName = new ConcurrentHashMap<>();
+        private final PrefixTrie<Brand> brandTrie = new PrefixTrie<>();
+        private final Map<UUID, ModelIndex> modelsByBrand = new ConcurrentHashMap<>();
+
+        private Catalog(Instant loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private void addBrand(Brand brand) {
+            brandsById.put(brand.getId(), brand);
+            brandsByName.put(PrefixTrie.normalize(brand.getName()), brand);
+            brandTrie.put(brand.getName(), brand);
+        }
+    }
+
+    private static class ModelIndex {
+        private final Map<String, VehicleModel> byName = new ConcurrentHashMap<>();
+        private final PrefixTrie<VehicleModel> trie = new PrefixTrie<>();
+
+        private void add(VehicleModel model) {
+            byName.put(PrefixTrie.normalize(model.getName()), model);
+            trie.put(model.getName(), model);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.application.service.model.VehicleDetail;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class VehicleDetailCache {
+
+    private final Cache<UUID, VehicleDetail> cache;
+
+    public VehicleDetailCache(MeterRegistry meterRegistry,
+                              @Value("${vehicle.detail.cache.max-size:500}") long maxSize,
+                              @Value("${vehicle.detail.cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "vehicleDetail");
+    }
+
+    public VehicleDetail get(UUID vehicleId, Function<UUID, VehicleDetail> loader) {
+        return cache.get(vehicleId, loader);
+    }
+
+    public void invalidate(UUID vehicleId) {
+        cache.invalidate(vehicleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(vehicleId);
+                }
+            });
+        }
+    }
+}
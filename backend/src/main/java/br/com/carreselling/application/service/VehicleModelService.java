@@ -1,7 +1,7 @@
 package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.VehicleModelSummary;
-import br.com.carreselling.domain.repository.VehicleModelRepository;
+import br.com.carreselling.domain.model.VehicleModel;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
@@ -9,16 +9,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class VehicleModelService implements IVehicleModelService {
 
-    private final VehicleModelRepository vehicleModelRepository;
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
 
-    public VehicleModelService(VehicleModelRepository vehicleModelRepository) {
-        this.vehicleModelRepository = vehicleModelRepository;
+    private final VehicleCatalog vehicleCatalog;
+
+    public VehicleModelService(VehicleCatalog vehicleCatalog) {
+        this.vehicleCatalog = vehicleCatalog;
     }
 
     @Override
     public List<VehicleModelSummary> listModelsByBrandId(UUID brandId) {
-        return vehicleModelRepository.findModelsByBrandId(brandId)
-            .stream()
+        return toSummaries(vehicleCatalog.listModels(brandId));
+    }
+
+    @Override
+    public List<VehicleModelSummary> autocompleteModels(UUID brandId, String prefix, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new IllegalArgumentException("limit: must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT + ".");
+        }
+        return toSummaries(vehicleCatalog.autocompleteModels(brandId, prefix, limit));
+    }
+
+    private List<VehicleModelSummary> toSummaries(List<VehicleModel> models) {
+        return models.stream()
             .map(model -> new VehicleModelSummary(model.getId(), model.getName()))
             .toList();
     }
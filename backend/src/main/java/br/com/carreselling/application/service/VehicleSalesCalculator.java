@@ -2,16 +2,31 @@ package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.SoldVehicleItem;
 import br.com.carreselling.application.service.model.SoldVehiclesReport;
+import jakarta.annotation.PreDestroy;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class VehicleSalesCalculator {
 
+    private static final SoldVehiclesReport EMPTY_REPORT = new SoldVehiclesReport(
+        List.of(),
+        0,
+        BigDecimal.ZERO,
+        BigDecimal.ZERO,
+        BigDecimal.ZERO,
+        BigDecimal.ZERO,
+        BigDecimal.ZERO
+    );
+
     private final BigDecimal icmsRate;
     private final BigDecimal icmsBaseRate;
     private final BigDecimal pisRate;
@@ -19,6 +34,11 @@ public class VehicleSalesCalculator {
     private final BigDecimal csllRate;
     private final BigDecimal irpjRate;
     private final BigDecimal irCommissionRate;
+    private final CentavoTaxCalculator centavoCalculator;
+    private final int parallelThreshold;
+    private final int chunkSize;
+    private final int parallelism;
+    private volatile ExecutorService chunkExecutor;
 
     public VehicleSalesCalculator(
         @Value("${tax.icms-rate:0.12}") BigDecimal icmsRate,
@@ -27,7 +47,11 @@ public class VehicleSalesCalculator {
         @Value("${tax.cofins-rate:0.03}") BigDecimal cofinsRate,
         @Value("${tax.csll-rate:0.0288}") BigDecimal csllRate,
         @Value("${tax.irpj-rate:0.048}") BigDecimal irpjRate,
-        @Value("${tax.ir-commission-rate:0.15}") BigDecimal irCommissionRate
+        @Value("${tax.ir-commission-rate:0.15}") BigDecimal irCommissionRate,
+        @Value("${tax.fixed-point:true}") boolean fixedPoint,
+        @Value("${report.sold-vehicles.parallel-threshold:10000}") int parallelThreshold,
+        @Value("${report.sold-vehicles.chunk-size:2048}") int chunkSize,
+        @Value("${report.sold-vehicles.parallelism:0}") int parallelism
     ) {
         this.icmsRate = icmsRate;
         this.icmsBaseRate = icmsBaseRate;
@@ -36,9 +60,114 @@ public class VehicleSalesCalculator {
         this.csllRate = csllRate;
         this.irpjRate = irpjRate;
         this.irCommissionRate = irCommissionRate;
+        this.centavoCalculator = fixedPoint
+            ? CentavoTaxCalculator.create(icmsBaseRate, icmsRate, pisRate, cofinsRate, csllRate, irpjRate,
+                irCommissionRate)
+            : null;
+        this.parallelThreshold = parallelThreshold;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (chunkExecutor != null) {
+            chunkExecutor.shutdownNow();
+        }
     }
 
     public SoldVehiclesReport buildReport(List<SoldVehicleRaw> vehicles) {
+        if (parallelThreshold > 0 && parallelism > 1
+            && vehicles.size() >= parallelThreshold && vehicles.size() > chunkSize) {
+            return buildReportInChunks(vehicles);
+        }
+        return buildSequentialReport(vehicles);
+    }
+
+    private SoldVehiclesReport buildReportInChunks(List<SoldVehicleRaw> vehicles) {
+        List<Future<SoldVehiclesReport>> partials = new ArrayList<>();
+        for (int from = 0; from < vehicles.size(); from += chunkSize) {
+            List<SoldVehicleRaw> chunk = vehicles.subList(from, Math.min(vehicles.size(), from + chunkSize));
+            partials.add(chunkExecutor().submit(() -> buildSequentialReport(chunk)));
+        }
+
+        List<SoldVehicleItem> items = new ArrayList<>(vehicles.size());
+        SoldVehiclesReport totals = EMPTY_REPORT;
+        for (Future<SoldVehiclesReport> future : partials) {
+            SoldVehiclesReport partial = await(future, partials);
+            items.addAll(partial.vehicles());
+            totals = mergeTotals(totals, partial);
+        }
+        return new SoldVehiclesReport(
+            items,
+            totals.totalVehiclesSold(),
+            totals.totalSoldValue(),
+            totals.totalTaxesValue(),
+            totals.totalServiceValue(),
+            totals.totalCommissionValue(),
+            totals.profit()
+        );
+    }
+
+    /**
+     * Only the live report reaches the chunked path, so the pool is not started until a
+     * report large enough to need it arrives.
+     */
+    private ExecutorService chunkExecutor() {
+        ExecutorService executor = chunkExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = chunkExecutor;
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(parallelism,
+                        Thread.ofPlatform().name("sales-report-", 0).daemon(true).factory());
+                    chunkExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static SoldVehiclesReport await(Future<SoldVehiclesReport> future,
+                                            List<Future<SoldVehiclesReport>> partials) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            partials.forEach(partial -> partial.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building sold vehicles report");
+        } catch (ExecutionException ex) {
+            partials.forEach(partial -> partial.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to build sold vehicles report");
+        }
+    }
+
+    private static SoldVehiclesReport mergeTotals(SoldVehiclesReport left, SoldVehiclesReport right) {
+        return new SoldVehiclesReport(
+            List.of(),
+            left.totalVehiclesSold() + right.totalVehiclesSold(),
+            left.totalSoldValue().add(right.totalSoldValue()),
+            left.totalTaxesValue().add(right.totalTaxesValue()),
+            left.totalServiceValue().add(right.totalServiceValue()),
+            left.totalCommissionValue().add(right.totalCommissionValue()),
+            left.profit().add(right.profit())
+        );
+    }
+
+    private SoldVehiclesReport buildSequentialReport(List<SoldVehicleRaw> vehicles) {
+        if (centavoCalculator != null) {
+            try {
+                SoldVehiclesReport report = buildReportInCentavos(vehicles);
+                if (report != null) {
+                    return report;
+                }
+            } catch (ArithmeticException ignored) {
+                // values outside the centavo range are computed with BigDecimal below
+            }
+        }
         List<SoldVehicleItem> items = new ArrayList<>();
         BigDecimal totalSold = BigDecimal.ZERO;
         BigDecimal totalTaxes = BigDecimal.ZERO;
@@ -48,24 +177,62 @@ public class VehicleSalesCalculator {
         BigDecimal totalProfit = BigDecimal.ZERO;
 
         for (SoldVehicleRaw vehicle : vehicles) {
-            BigDecimal sellingPrice = vehicle.sellingPrice();
-            BigDecimal servicesTotal = vehicle.servicesTotal();
-            BigDecimal purchaseCommission = vehicle.purchaseCommission() == null
-                ? BigDecimal.ZERO
-                : vehicle.purchaseCommission();
-            BigDecimal baseProfit = sellingPrice.subtract(vehicle.purchasePrice());
-            BigDecimal taxableMargin = baseProfit.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : baseProfit;
-
-            TaxBreakdown taxes = calculateTaxes(sellingPrice, taxableMargin);
-            BigDecimal commissionIr = purchaseCommission
-                .multiply(irCommissionRate)
-                .setScale(2, RoundingMode.HALF_UP);
-            BigDecimal vehicleProfit = baseProfit
-                .subtract(taxes.totalTaxes())
-                .subtract(vehicle.freightCost())
-                .subtract(servicesTotal)
-                .subtract(commissionIr);
-            items.add(new SoldVehicleItem(
+            SaleLine line = calculateLine(vehicle);
+            SoldVehicleItem item = line.item();
+            items.add(item);
+            totalSold = totalSold.add(item.sellingPrice());
+            totalTaxes = totalTaxes.add(item.totalTaxes());
+            totalServices = totalServices.add(item.servicesTotal());
+            totalCommission = totalCommission.add(item.purchaseCommission());
+            totalCommissionIr = totalCommissionIr.add(line.commissionIr());
+            totalProfit = totalProfit.add(line.profit());
+        }
+
+        return new SoldVehiclesReport(
+            items,
+            items.size(),
+            totalSold,
+            totalTaxes,
+            totalServices,
+            totalCommission,
+            totalProfit
+        );
+    }
+
+    public SaleLine calculateLine(SoldVehicleRaw vehicle) {
+        if (centavoCalculator != null) {
+            try {
+                CentavoTaxCalculator.Line line = new CentavoTaxCalculator.Line();
+                if (centavoCalculator.calculate(vehicle, line)) {
+                    return new SaleLine(
+                        toItem(vehicle, line),
+                        CentavoTaxCalculator.toBigDecimal(line.commissionIr(), 2),
+                        CentavoTaxCalculator.toBigDecimal(line.profit(), line.profitScale())
+                    );
+                }
+            } catch (ArithmeticException ignored) {
+                // values outside the centavo range are computed with BigDecimal below
+            }
+        }
+        BigDecimal sellingPrice = vehicle.sellingPrice();
+        BigDecimal servicesTotal = vehicle.servicesTotal();
+        BigDecimal purchaseCommission = vehicle.purchaseCommission() == null
+            ? BigDecimal.ZERO
+            : vehicle.purchaseCommission();
+        BigDecimal baseProfit = sellingPrice.subtract(vehicle.purchasePrice());
+        BigDecimal taxableMargin = baseProfit.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : baseProfit;
+
+        TaxBreakdown taxes = calculateTaxes(sellingPrice, taxableMargin);
+        BigDecimal commissionIr = purchaseCommission
+            .multiply(irCommissionRate)
+            .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal vehicleProfit = baseProfit
+            .subtract(taxes.totalTaxes())
+            .subtract(vehicle.freightCost())
+            .subtract(servicesTotal)
+            .subtract(commissionIr);
+        return new SaleLine(
+            new SoldVehicleItem(
                 vehicle.vehicleId(),
                 vehicle.licensePlate(),
                 vehicle.brand(),
@@ -76,23 +243,68 @@ public class VehicleSalesCalculator {
                 taxes.totalTaxes(),
                 servicesTotal,
                 purchaseCommission
-            ));
-            totalSold = totalSold.add(sellingPrice);
-            totalTaxes = totalTaxes.add(taxes.totalTaxes());
-            totalServices = totalServices.add(servicesTotal);
-            totalCommission = totalCommission.add(purchaseCommission);
-            totalCommissionIr = totalCommissionIr.add(commissionIr);
-            totalProfit = totalProfit.add(vehicleProfit);
+            ),
+            commissionIr,
+            vehicleProfit
+        );
+    }
+
+    private SoldVehiclesReport buildReportInCentavos(List<SoldVehicleRaw> vehicles) {
+        CentavoTaxCalculator.Line line = new CentavoTaxCalculator.Line();
+        List<SoldVehicleItem> items = new ArrayList<>(vehicles.size());
+        long totalSold = 0;
+        long totalTaxes = 0;
+        long totalServices = 0;
+        long totalCommission = 0;
+        long totalProfit = 0;
+        int soldScale = 0;
+        int taxesScale = 0;
+        int servicesScale = 0;
+        int commissionScale = 0;
+        int profitScale = 0;
+
+        for (SoldVehicleRaw vehicle : vehicles) {
+            if (!centavoCalculator.calculate(vehicle, line)) {
+                return null;
+            }
+            items.add(toItem(vehicle, line));
+            totalSold = Math.addExact(totalSold, line.sellingPrice());
+            totalTaxes = Math.addExact(totalTaxes, line.totalTaxes());
+            totalServices = Math.addExact(totalServices, line.servicesTotal());
+            totalCommission = Math.addExact(totalCommission, line.purchaseCommission());
+            totalProfit = Math.addExact(totalProfit, line.profit());
+            soldScale = Math.max(soldScale, vehicle.sellingPrice().scale());
+            taxesScale = 2;
+            servicesScale = Math.max(servicesScale, vehicle.servicesTotal().scale());
+            if (vehicle.purchaseCommission() != null) {
+                commissionScale = Math.max(commissionScale, vehicle.purchaseCommission().scale());
+            }
+            profitScale = Math.max(profitScale, line.profitScale());
         }
 
         return new SoldVehiclesReport(
             items,
             items.size(),
-            totalSold,
-            totalTaxes,
-            totalServices,
-            totalCommission,
-            totalProfit
+            CentavoTaxCalculator.toBigDecimal(totalSold, soldScale),
+            CentavoTaxCalculator.toBigDecimal(totalTaxes, taxesScale),
+            CentavoTaxCalculator.toBigDecimal(totalServices, servicesScale),
+            CentavoTaxCalculator.toBigDecimal(totalCommission, commissionScale),
+            CentavoTaxCalculator.toBigDecimal(totalProfit, profitScale)
+        );
+    }
+
+    private SoldVehicleItem toItem(SoldVehicleRaw vehicle, CentavoTaxCalculator.Line line) {
+        return new SoldVehicleItem(
+            vehicle.vehicleId(),
+            vehicle.licensePlate(),
+            vehicle.brand(),
+            vehicle.model(),
+            vehicle.year(),
+            vehicle.soldAt(),
+            vehicle.sellingPrice(),
+            CentavoTaxCalculator.toBigDecimal(line.totalTaxes(), 2),
+            vehicle.servicesTotal(),
+            vehicle.purchaseCommission() == null ? BigDecimal.ZERO : vehicle.purchaseCommission()
         );
     }
 
@@ -138,6 +350,9 @@ public class VehicleSalesCalculator {
                                BigDecimal totalTaxes) {
     }
 
+    public record SaleLine(SoldVehicleItem item, BigDecimal commissionIr, BigDecimal profit) {
+    }
+
     public record SoldVehicleRaw(java.util.UUID vehicleId,
                                  String licensePlate,
                                  String brand,
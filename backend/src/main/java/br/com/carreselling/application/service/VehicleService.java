@@ -1,8 +1,11 @@
 package br.com.carreselling.application.service;
 
 import br.com.carreselling.application.service.model.VehicleDetail;
+import br.com.carreselling.application.service.model.VehicleListCursor;
+import br.com.carreselling.application.service.model.VehiclePage;
 import br.com.carreselling.application.service.model.VehicleSummary;
 import br.com.carreselling.application.service.model.VehicleTaxes;
+import br.com.carreselling.application.service.query.VehicleQueryRepository;
 import br.com.carreselling.domain.exception.ConflictException;
 import br.com.carreselling.domain.exception.InvalidStateException;
 import br.com.carreselling.domain.exception.NotFoundException;
@@ -12,19 +15,25 @@ import br.com.carreselling.domain.model.SupplierSource;
 import br.com.carreselling.domain.model.Vehicle;
 import br.com.carreselling.domain.model.VehicleModel;
 import br.com.carreselling.domain.model.VehicleStatus;
-import br.com.carreselling.domain.repository.BrandRepository;
 import br.com.carreselling.domain.repository.DocumentRepository;
-import br.com.carreselling.domain.repository.PartnerRepository;
-import br.com.carreselling.domain.repository.VehicleModelRepository;
+import br.com.carreselling.domain.repository.VehicleFilter;
 import br.com.carreselling.domain.repository.VehicleRepository;
+import br.com.carreselling.infrastructure.search.VehicleSearchIndex;
+import br.com.carreselling.infrastructure.search.VehicleSearchStrategy;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 @Service
@@ -33,24 +42,45 @@ public class VehicleService implements IVehicleService {
     private static final String PLATE_REGEX = "^[A-Z]{3}[0-9]{4}$|^[A-Z]{3}[0-9][A-Z][0-9]{2}$";
 
     private final VehicleRepository vehicleRepository;
+    private final VehicleQueryRepository vehicleQueryRepository;
     private final DocumentRepository documentRepository;
-    private final PartnerRepository partnerRepository;
-    private final BrandRepository brandRepository;
-    private final VehicleModelRepository vehicleModelRepository;
+    private final PartnerDirectory partnerDirectory;
+    private final VehicleCatalog vehicleCatalog;
     private final VehicleSalesCalculator salesCalculator;
+    private final VehicleStatusCounter statusCounter;
+    private final VehicleSearchIndex searchIndex;
+    private final VehicleSearchStrategy searchStrategy;
+    private final VehicleDetailCache detailCache;
+    private final SaleFactRecorder saleFactRecorder;
+    private final boolean listProjectionEnabled;
+    private final boolean detailConsolidatedQuery;
 
     public VehicleService(VehicleRepository vehicleRepository,
+                          VehicleQueryRepository vehicleQueryRepository,
                           DocumentRepository documentRepository,
-                          PartnerRepository partnerRepository,
-                          BrandRepository brandRepository,
-                          VehicleModelRepository vehicleModelRepository,
-                          VehicleSalesCalculator salesCalculator) {
+                          PartnerDirectory partnerDirectory,
+                          VehicleCatalog vehicleCatalog,
+                          VehicleSalesCalculator salesCalculator,
+                          VehicleStatusCounter statusCounter,
+                          VehicleSearchIndex searchIndex,
+                          VehicleSearchStrategy searchStrategy,
+                          VehicleDetailCache detailCache,
+                          SaleFactRecorder saleFactRecorder,
+                          @Value("${vehicle.list.projection-enabled:true}") boolean listProjectionEnabled,
+                          @Value("${vehicle.detail.consolidated-query:true}") boolean detailConsolidatedQuery) {
         this.vehicleRepository = vehicleRepository;
+        this.vehicleQueryRepository = vehicleQueryRepository;
         this.documentRepository = documentRepository;
-        this.partnerRepository = partnerRepository;
-        this.brandRepository = brandRepository;
-        this.vehicleModelRepository = vehicleModelRepository;
+        this.partnerDirectory = partnerDirectory;
+        this.vehicleCatalog = vehicleCatalog;
         this.salesCalculator = salesCalculator;
+        this.statusCounter = statusCounter;
+        this.searchIndex = searchIndex;
+        this.searchStrategy = searchStrategy;
+        this.detailCache = detailCache;
+        this.saleFactRecorder = saleFactRecorder;
+        this.listProjectionEnabled = listProjectionEnabled;
+        this.detailConsolidatedQuery = detailConsolidatedQuery;
     }
 
     @Override
@@ -116,65 +146,66 @@ public class VehicleService implements IVehicleService {
                 VehicleStatus.IN_LOT,
                 null,
                 null,
+                null,
                 now,
                 now
         );
         vehicle.ensureDistributionInvariant();
         vehicleRepository.saveVehicle(vehicle);
+        statusCounter.increment(vehicle.getStatus());
+        searchIndex.index(vehicle);
         return vehicle.getId();
     }
 
     @Override
     public VehicleDetail getVehicle(UUID vehicleId) {
-        Vehicle vehicle = vehicleRepository.findVehicleById(vehicleId)
-                .orElseThrow(() -> new NotFoundException("Vehicle not found"));
-        BigDecimal servicesTotal = vehicleRepository.findVehicleServicesTotalByVehicleId(vehicleId);
-        int documentsCount = vehicleRepository.countVehicleDocumentsByVehicleId(vehicleId);
-        BigDecimal totalCost = vehicle.getPurchasePrice()
-                .add(vehicle.getFreightCost())
-                .add(servicesTotal);
-        String partnerName = resolvePartnerName(vehicle.getAssignedPartnerId());
-        BigDecimal purchaseCommission = vehicle.getPurchaseCommission() == null
-                ? BigDecimal.ZERO
-                : vehicle.getPurchaseCommission();
-        return new VehicleDetail(
-                vehicle.getId(),
-                vehicle.getLicensePlate(),
-                vehicle.getRenavam(),
-                vehicle.getVin(),
-                vehicle.getYear(),
-                vehicle.getColor(),
-                vehicle.getModel(),
-                vehicle.getBrand(),
-                vehicle.getSupplierSource(),
-                vehicle.getPurchasePrice(),
-                vehicle.getFreightCost(),
-                purchaseCommission,
-                vehicle.getSellingPrice(),
-                vehicle.getPurchaseInvoiceDocumentId(),
-                vehicle.getPurchasePaymentReceiptDocumentId(),
-                vehicle.getStatus(),
-                vehicle.getAssignedPartnerId(),
-                partnerName,
-                servicesTotal,
-                totalCost,
-                documentsCount,
-                vehicle.getCreatedAt(),
-                vehicle.getUpdatedAt(),
-                vehicle.getDistributedAt()
-        );
+        return detailCache.get(vehicleId, this::loadVehicleDetail);
+    }
+
+    private VehicleDetail loadVehicleDetail(UUID vehicleId) {
+        if (detailConsolidatedQuery) {
+            return vehicleQueryRepository.findVehicleDetailById(vehicleId)
+                    .orElseThrow(() -> new NotFoundException("Vehicle not found"));
+        }
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<BigDecimal> servicesTotal = scope.submit(
+                    () -> vehicleRepository.findVehicleServicesTotalByVehicleId(vehicleId));
+            Future<Integer> documentsCount = scope.submit(
+                    () -> vehicleRepository.countVehicleDocumentsByVehicleId(vehicleId));
+            Optional<Vehicle> vehicle = vehicleRepository.findVehicleById(vehicleId);
+            if (vehicle.isEmpty()) {
+                servicesTotal.cancel(true);
+                documentsCount.cancel(true);
+                throw new NotFoundException("Vehicle not found");
+            }
+            String partnerName = resolvePartnerName(vehicle.get().getAssignedPartnerId());
+            return VehicleDetail.of(
+                    vehicle.get(),
+                    await(servicesTotal),
+                    await(documentsCount),
+                    partnerName
+            );
+        }
     }
 
     @Override
+    @Transactional
     public void updateSellingPrice(UUID vehicleId, BigDecimal sellingPrice) {
         validateRequiredMoney(sellingPrice, "sellingPrice");
         Vehicle vehicle = vehicleRepository.findVehicleById(vehicleId)
                 .orElseThrow(() -> new NotFoundException("Vehicle not found"));
 
+        VehicleStatus previousStatus = vehicle.getStatus();
         vehicle.transitionStatus(VehicleStatus.SOLD);
         vehicle.updateSellingPrice(sellingPrice);
+        if (previousStatus != VehicleStatus.SOLD) {
+            vehicle.setSoldAt(Instant.now());
+        }
         vehicle.setUpdatedAt(Instant.now());
         vehicleRepository.updateVehicle(vehicle);
+        detailCache.invalidate(vehicle.getId());
+        saleFactRecorder.refresh(vehicle.getId());
+        statusCounter.move(previousStatus, vehicle.getStatus());
     }
 
     @Override
@@ -208,44 +239,59 @@ public class VehicleService implements IVehicleService {
     }
 
     @Override
-    public List<VehicleSummary> listVehicles(VehicleStatus status, String query, int page, int size) {
-        int offset = Math.max(page, 0) * Math.max(size, 1);
-        List<Vehicle> vehicles = vehicleRepository.findVehicleByFilter(status, query, offset, size);
-        return vehicles.stream()
-                .map(vehicle -> {
-                    BigDecimal servicesTotal = vehicleRepository.findVehicleServicesTotalByVehicleId(vehicle.getId());
-                    BigDecimal totalCost = vehicle.getPurchasePrice()
-                            .add(vehicle.getFreightCost())
-                            .add(servicesTotal);
-                    String partnerName = resolvePartnerName(vehicle.getAssignedPartnerId());
-                    BigDecimal purchaseCommission = vehicle.getPurchaseCommission() == null
-                            ? BigDecimal.ZERO
-                            : vehicle.getPurchaseCommission();
-
-                    return new VehicleSummary(
-                            vehicle.getId(),
-                            vehicle.getLicensePlate(),
-                            vehicle.getBrand(),
-                            vehicle.getModel(),
-                            vehicle.getYear(),
-                            vehicle.getStatus(),
-                            vehicle.getPurchasePrice(),
-                            purchaseCommission,
-                            servicesTotal,
-                            totalCost,
-                            partnerName,
-                            vehicle.calculateTotalYardDays()
-                    );
-                })
-                .toList();
+    public VehiclePage listVehicles(VehicleStatus status, String query, int page, int size) {
+        int limit = Math.max(size, 1);
+        int offset = Math.max(page, 0) * limit;
+        VehicleFilter filter = resolveFilter(status, query);
+        boolean relevanceOrdered = filter.candidateIds() == null
+                && StringUtils.hasText(query)
+                && searchStrategy.ordersByRelevance(query);
+        if (listProjectionEnabled) {
+            return toPage(vehicleQueryRepository.findVehicleSummaryByFilter(filter, offset, limit + 1),
+                    limit,
+                    relevanceOrdered);
+        }
+        List<Vehicle> vehicles = vehicleRepository.findVehicleByFilter(filter, offset, limit + 1);
+        return toPage(vehicles.stream()
+                .map(vehicle -> VehicleSummary.of(
+                        vehicle,
+                        vehicleRepository.findVehicleServicesTotalByVehicleId(vehicle.getId()),
+                        resolvePartnerName(vehicle.getAssignedPartnerId())
+                ))
+                .toList(), limit, relevanceOrdered);
+    }
+
+    @Override
+    public VehiclePage listVehiclesAfter(VehicleStatus status,
+                                         String query,
+                                         VehicleListCursor cursor,
+                                         int size) {
+        int limit = Math.max(size, 1);
+        VehicleFilter filter = resolveFilter(status, query);
+        return toPage(vehicleQueryRepository.findVehicleSummaryAfter(
+                filter,
+                cursor == null ? null : cursor.createdAt(),
+                cursor == null ? null : cursor.id(),
+                limit + 1
+        ), limit, false);
     }
 
     @Override
     public long countVehicles(VehicleStatus status, String query) {
-        return vehicleRepository.countVehicleByFilter(status, query);
+        VehicleFilter filter = resolveFilter(status, query);
+        return vehicleRepository.countVehicleByFilter(filter);
     }
 
     @Override
+    public long estimateVehicles(VehicleStatus status, String query) {
+        if (StringUtils.hasText(query)) {
+            return countVehicles(status, query);
+        }
+        return statusCounter.count(status);
+    }
+
+    @Override
+    @Transactional
     public void updateVehicle(UUID vehicleId,
                               int year,
                               String color,
@@ -285,9 +331,13 @@ public class VehicleService implements IVehicleService {
         vehicle.setUpdatedAt(Instant.now());
         vehicle.ensureDistributionInvariant();
         vehicleRepository.updateVehicle(vehicle);
+        detailCache.invalidate(vehicle.getId());
+        searchIndex.index(vehicle);
+        saleFactRecorder.refresh(vehicle.getId());
     }
 
     @Override
+    @Transactional
     public void transitionStatus(UUID vehicleId, VehicleStatus targetStatus, UUID assignedPartnerId) {
         Vehicle vehicle = vehicleRepository.findVehicleById(vehicleId)
                 .orElseThrow(() -> new NotFoundException("Vehicle not found"));
@@ -301,25 +351,35 @@ public class VehicleService implements IVehicleService {
             throw new InvalidStateException("Selling price is required before marking as sold.");
         }
         if (targetStatus == VehicleStatus.DISTRIBUTED && assignedPartnerId != null) {
-            partnerRepository.findPartnerById(assignedPartnerId)
+            partnerDirectory.findById(assignedPartnerId)
                     .orElseThrow(() -> new NotFoundException("Partner not found"));
         }
         UUID partner = assignedPartnerId != null ? assignedPartnerId : vehicle.getAssignedPartnerId();
+        VehicleStatus previousStatus = vehicle.getStatus();
         vehicle.transitionStatus(targetStatus, partner);
         if (targetStatus == VehicleStatus.DISTRIBUTED && vehicle.getDistributedAt() == null) {
             vehicle.setDistributedAt(Instant.now());
         }
+        if (targetStatus == VehicleStatus.SOLD && previousStatus != VehicleStatus.SOLD) {
+            vehicle.setSoldAt(Instant.now());
+        } else if (targetStatus != VehicleStatus.SOLD) {
+            vehicle.setSoldAt(null);
+        }
         vehicle.setUpdatedAt(Instant.now());
         vehicle.ensureDistributionInvariant();
         vehicleRepository.updateVehicle(vehicle);
+        detailCache.invalidate(vehicle.getId());
+        statusCounter.move(previousStatus, vehicle.getStatus());
+        saleFactRecorder.refresh(vehicle.getId());
     }
 
     @Override
     public void assignPartner(UUID vehicleId, UUID partnerId) {
         Vehicle vehicle = vehicleRepository.findVehicleById(vehicleId)
                 .orElseThrow(() -> new NotFoundException("Vehicle not found"));
-        Partner partner = partnerRepository.findPartnerById(partnerId)
+        Partner partner = partnerDirectory.findById(partnerId)
                 .orElseThrow(() -> new NotFoundException("Partner not found"));
+        VehicleStatus previousStatus = vehicle.getStatus();
         vehicle.assignPartner(partner.getId());
         if (vehicle.getDistributedAt() == null) {
             vehicle.setDistributedAt(Instant.now());
@@ -327,6 +387,8 @@ public class VehicleService implements IVehicleService {
         vehicle.setUpdatedAt(Instant.now());
         vehicle.ensureDistributionInvariant();
         vehicleRepository.updateVehicle(vehicle);
+        detailCache.invalidate(vehicle.getId());
+        statusCounter.move(previousStatus, vehicle.getStatus());
     }
 
     private Brand resolveBrand(String brand, Instant now) {
@@ -334,13 +396,7 @@ public class VehicleService implements IVehicleService {
         if (!StringUtils.hasText(normalized)) {
             throw new IllegalArgumentException("brand: required.");
         }
-        return brandRepository.findBrandByName(normalized)
-            .orElseGet(() -> brandRepository.saveBrand(new Brand(
-                UUID.randomUUID(),
-                normalized,
-                now,
-                now
-            )));
+        return vehicleCatalog.getOrCreateBrand(normalized, now);
     }
 
     private VehicleModel resolveModel(UUID brandId, String model, Instant now) {
@@ -348,14 +404,7 @@ public class VehicleService implements IVehicleService {
         if (!StringUtils.hasText(normalized)) {
             throw new IllegalArgumentException("model: required.");
         }
-        return vehicleModelRepository.findModelByBrandIdAndName(brandId, normalized)
-            .orElseGet(() -> vehicleModelRepository.saveModel(new VehicleModel(
-                UUID.randomUUID(),
-                brandId,
-                normalized,
-                now,
-                now
-            )));
+        return vehicleCatalog.getOrCreateModel(brandId, normalized, now);
     }
 
     private void validatePlate(String plate) {
@@ -399,11 +448,41 @@ public class VehicleService implements IVehicleService {
         return value == null ? null : value.trim();
     }
 
+    private VehicleFilter resolveFilter(VehicleStatus status, String query) {
+        if (!StringUtils.hasText(query)) {
+            return VehicleFilter.of(status, null);
+        }
+        return searchIndex.search(query)
+                .map(ids -> new VehicleFilter(status, query, ids))
+                .orElseGet(() -> VehicleFilter.of(status, query));
+    }
+
+    private VehiclePage toPage(List<VehicleSummary> vehicles, int limit, boolean relevanceOrdered) {
+        if (vehicles.size() > limit) {
+            return new VehiclePage(vehicles.subList(0, limit), true, relevanceOrdered);
+        }
+        return new VehiclePage(vehicles, false, relevanceOrdered);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading vehicle detail");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to load vehicle detail");
+        }
+    }
+
     private String resolvePartnerName(UUID partnerId) {
         if (partnerId == null) {
             return null;
         }
-        Optional<Partner> partner = partnerRepository.findPartnerById(partnerId);
+        Optional<Partner> partner = partnerDirectory.findById(partnerId);
         return partner.map(Partner::getName).orElse(null);
     }
 
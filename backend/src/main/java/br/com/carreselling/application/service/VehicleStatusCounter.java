@@ -0,0 +1,77 @@
+package br.com.carreselling.application.service;
+
+import br.com.carreselling.domain.model.VehicleStatus;
+import br.com.carreselling.domain.repository.VehicleRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VehicleStatusCounter {
+
+    private final VehicleRepository vehicleRepository;
+    private final Duration resyncInterval;
+    private final Map<VehicleStatus, AtomicLong> counts = new EnumMap<>(VehicleStatus.class);
+    private volatile Instant syncedAt;
+
+    public VehicleStatusCounter(VehicleRepository vehicleRepository,
+                                @Value("${vehicle.status-count.resync-interval:PT5M}") Duration resyncInterval) {
+        this.vehicleRepository = vehicleRepository;
+        this.resyncInterval = resyncInterval;
+        for (VehicleStatus status : VehicleStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+    }
+
+    public long count(VehicleStatus status) {
+        ensureSynced();
+        if (status != null) {
+            return counts.get(status).get();
+        }
+        long total = 0;
+        for (AtomicLong count : counts.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    public void increment(VehicleStatus status) {
+        counts.get(status).incrementAndGet();
+    }
+
+    public void move(VehicleStatus from, VehicleStatus to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            counts.get(from).updateAndGet(value -> Math.max(value - 1, 0));
+        }
+        if (to != null) {
+            counts.get(to).incrementAndGet();
+        }
+    }
+
+    private void ensureSynced() {
+        if (isFresh(syncedAt)) {
+            return;
+        }
+        synchronized (this) {
+            if (isFresh(syncedAt)) {
+                return;
+            }
+            Map<VehicleStatus, Long> current = vehicleRepository.countVehicleByStatus();
+            for (VehicleStatus status : VehicleStatus.values()) {
+                counts.get(status).set(current.getOrDefault(status, 0L));
+            }
+            syncedAt = Instant.now();
+        }
+    }
+
+    private boolean isFresh(Instant synced) {
+        return synced != null && synced.plus(resyncInterval).isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.carreselling.application.service.model;
+
+import org.springframework.core.io.Resource;
+
+public record DocumentContent(DocumentSummary document, Resource resource, String contentEncoding) {
+}
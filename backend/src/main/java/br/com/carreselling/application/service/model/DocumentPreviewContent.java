@@ -0,0 +1,12 @@
+package br.com.carreselling.application.service.model;
+
+import java.util.UUID;
+import org.springframework.core.io.Resource;
+
+public record DocumentPreviewContent(UUID documentId,
+                                     int width,
+                                     int height,
+                                     String contentType,
+                                     long sizeBytes,
+                                     Resource resource) {
+}
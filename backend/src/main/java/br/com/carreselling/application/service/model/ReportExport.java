@@ -0,0 +1,13 @@
+package br.com.carreselling.application.service.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public record ReportExport(String fileName, String contentType, Content content) {
+
+    @FunctionalInterface
+    public interface Content {
+
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.carreselling.application.service.model;
+
+import java.util.Locale;
+
+public enum ReportFormat {
+    CSV("csv", "text/csv;charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson;charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ReportFormat from(String value) {
+        if (value != null) {
+            for (ReportFormat format : values()) {
+                if (format.extension.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("format: must be csv or ndjson.");
+    }
+}
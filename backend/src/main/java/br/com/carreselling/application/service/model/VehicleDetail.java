@@ -1,6 +1,7 @@
 package br.com.carreselling.application.service.model;
 
 import br.com.carreselling.domain.model.SupplierSource;
+import br.com.carreselling.domain.model.Vehicle;
 import br.com.carreselling.domain.model.VehicleStatus;
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -30,4 +31,43 @@ public record VehicleDetail(UUID id,
                             Instant createdAt,
                             Instant updatedAt,
                             Instant distributedAt) {
+
+    public static VehicleDetail of(Vehicle vehicle,
+                                   BigDecimal servicesTotal,
+                                   int documentsCount,
+                                   String assignedPartnerName) {
+        BigDecimal total = servicesTotal == null ? BigDecimal.ZERO : servicesTotal;
+        BigDecimal totalCost = vehicle.getPurchasePrice()
+                .add(vehicle.getFreightCost())
+                .add(total);
+        BigDecimal purchaseCommission = vehicle.getPurchaseCommission() == null
+                ? BigDecimal.ZERO
+                : vehicle.getPurchaseCommission();
+        return new VehicleDetail(
+                vehicle.getId(),
+                vehicle.getLicensePlate(),
+                vehicle.getRenavam(),
+                vehicle.getVin(),
+                vehicle.getYear(),
+                vehicle.getColor(),
+                vehicle.getModel(),
+                vehicle.getBrand(),
+                vehicle.getSupplierSource(),
+                vehicle.getPurchasePrice(),
+                vehicle.getFreightCost(),
+                purchaseCommission,
+                vehicle.getSellingPrice(),
+                vehicle.getPurchaseInvoiceDocumentId(),
+                vehicle.getPurchasePaymentReceiptDocumentId(),
+                vehicle.getStatus(),
+                vehicle.getAssignedPartnerId(),
+                assignedPartnerName,
+                total,
+                totalCost,
+                documentsCount,
+                vehicle.getCreatedAt(),
+                vehicle.getUpdatedAt(),
+                vehicle.getDistributedAt()
+        );
+    }
 }
@@ -0,0 +1,39 @@
+package br.com.carreselling.application.service.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+public record VehicleListCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static VehicleListCursor of(VehicleSummary summary) {
+        return new VehicleListCursor(summary.createdAt(), summary.id());
+    }
+
+    public static VehicleListCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("cursor: invalid.");
+            }
+            return new VehicleListCursor(
+                Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("cursor: invalid.");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
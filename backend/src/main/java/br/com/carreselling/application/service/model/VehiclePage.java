@@ -0,0 +1,6 @@
+package br.com.carreselling.application.service.model;
+
+import java.util.List;
+
+public record VehiclePage(List<VehicleSummary> vehicles, boolean hasMore, boolean relevanceOrdered) {
+}
@@ -1,7 +1,9 @@
 package br.com.carreselling.application.service.model;
 
+import br.com.carreselling.domain.model.Vehicle;
 import br.com.carreselling.domain.model.VehicleStatus;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 public record VehicleSummary(UUID id,
@@ -15,5 +17,31 @@ public record VehicleSummary(UUID id,
                              BigDecimal servicesTotal,
                              BigDecimal totalCost,
                              String assignedPartnerName,
-                             int yardDays) {
+                             int yardDays,
+                             Instant createdAt) {
+
+    public static VehicleSummary of(Vehicle vehicle, BigDecimal servicesTotal, String assignedPartnerName) {
+        BigDecimal total = servicesTotal == null ? BigDecimal.ZERO : servicesTotal;
+        BigDecimal totalCost = vehicle.getPurchasePrice()
+                .add(vehicle.getFreightCost())
+                .add(total);
+        BigDecimal purchaseCommission = vehicle.getPurchaseCommission() == null
+                ? BigDecimal.ZERO
+                : vehicle.getPurchaseCommission();
+        return new VehicleSummary(
+                vehicle.getId(),
+                vehicle.getLicensePlate(),
+                vehicle.getBrand(),
+                vehicle.getModel(),
+                vehicle.getYear(),
+                vehicle.getStatus(),
+                vehicle.getPurchasePrice(),
+                purchaseCommission,
+                total,
+                totalCost,
+                assignedPartnerName,
+                vehicle.calculateTotalYardDays(),
+                vehicle.getCreatedAt()
+        );
+    }
 }
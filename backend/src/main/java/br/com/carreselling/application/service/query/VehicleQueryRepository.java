@@ -0,0 +1,21 @@
+package br.com.carreselling.application.service.query;
+
+import br.com.carreselling.application.service.model.VehicleDetail;
+import br.com.carreselling.application.service.model.VehicleSummary;
+import br.com.carreselling.domain.repository.VehicleFilter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface VehicleQueryRepository {
+
+    Optional<VehicleDetail> findVehicleDetailById(UUID id);
+
+    List<VehicleSummary> findVehicleSummaryByFilter(VehicleFilter filter, int offset, int size);
+
+    List<VehicleSummary> findVehicleSummaryAfter(VehicleFilter filter,
+                                                 Instant afterCreatedAt,
+                                                 UUID afterId,
+                                                 int size);
+}
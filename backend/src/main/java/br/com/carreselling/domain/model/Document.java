@@ -11,6 +11,9 @@ public class Document {
     private final String originalFileName;
     private final String contentType;
     private final long sizeBytes;
+    private final String contentSha256;
+    private final long storedSizeBytes;
+    private final String contentEncoding;
     private final String storageKey;
     private final Instant uploadedAt;
     private final String uploadedBy;
@@ -21,6 +24,9 @@ public class Document {
                     String originalFileName,
                     String contentType,
                     long sizeBytes,
+                    String contentSha256,
+                    long storedSizeBytes,
+                    String contentEncoding,
                     String storageKey,
                     Instant uploadedAt,
                     String uploadedBy) {
@@ -30,6 +36,9 @@ public class Document {
         this.originalFileName = originalFileName;
         this.contentType = contentType;
         this.sizeBytes = sizeBytes;
+        this.contentSha256 = contentSha256;
+        this.storedSizeBytes = storedSizeBytes;
+        this.contentEncoding = contentEncoding;
         this.storageKey = storageKey;
         this.uploadedAt = uploadedAt;
         this.uploadedBy = uploadedBy;
@@ -59,6 +68,18 @@ public class Document {
         return sizeBytes;
     }
 
+    public String getContentSha256() {
+        return contentSha256;
+    }
+
+    public long getStoredSizeBytes() {
+        return storedSizeBytes;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
     public String getStorageKey() {
         return storageKey;
     }
@@ -0,0 +1,59 @@
+package br.com.carreselling.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class DocumentPreview {
+
+    private final UUID documentId;
+    private final int width;
+    private final int height;
+    private final String contentType;
+    private final long sizeBytes;
+    private final String storageKey;
+    private final Instant createdAt;
+
+    public DocumentPreview(UUID documentId,
+                           int width,
+                           int height,
+                           String contentType,
+                           long sizeBytes,
+                           String storageKey,
+                           Instant createdAt) {
+        this.documentId = documentId;
+        this.width = width;
+        this.height = height;
+        this.contentType = contentType;
+        this.sizeBytes = sizeBytes;
+        this.storageKey = storageKey;
+        this.createdAt = createdAt;
+    }
+
+    public UUID getDocumentId() {
+        return documentId;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
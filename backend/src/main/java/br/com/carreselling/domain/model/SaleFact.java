@@ -0,0 +1,116 @@
+package br.com.carreselling.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class SaleFact {
+
+    private final UUID vehicleId;
+    private final LocalDate soldOn;
+    private final String licensePlate;
+    private final String brand;
+    private final String model;
+    private final int year;
+    private final UUID partnerId;
+    private final BigDecimal sellingPrice;
+    private final BigDecimal purchasePrice;
+    private final BigDecimal purchaseCommission;
+    private final BigDecimal freightCost;
+    private final BigDecimal servicesTotal;
+    private final BigDecimal totalTaxes;
+    private final BigDecimal commissionIr;
+    private final BigDecimal profit;
+
+    public SaleFact(UUID vehicleId,
+                    LocalDate soldOn,
+                    String licensePlate,
+                    String brand,
+                    String model,
+                    int year,
+                    UUID partnerId,
+                    BigDecimal sellingPrice,
+                    BigDecimal purchasePrice,
+                    BigDecimal purchaseCommission,
+                    BigDecimal freightCost,
+                    BigDecimal servicesTotal,
+                    BigDecimal totalTaxes,
+                    BigDecimal commissionIr,
+                    BigDecimal profit) {
+        this.vehicleId = vehicleId;
+        this.soldOn = soldOn;
+        this.licensePlate = licensePlate;
+        this.brand = brand;
+        this.model = model;
+        this.year = year;
+        this.partnerId = partnerId;
+        this.sellingPrice = sellingPrice;
+        this.purchasePrice = purchasePrice;
+        this.purchaseCommission = purchaseCommission;
+        this.freightCost = freightCost;
+        this.servicesTotal = servicesTotal;
+        this.totalTaxes = totalTaxes;
+        this.commissionIr = commissionIr;
+        this.profit = profit;
+    }
+
+    public UUID getVehicleId() {
+        return vehicleId;
+    }
+
+    public LocalDate getSoldOn() {
+        return soldOn;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public UUID getPartnerId() {
+        return partnerId;
+    }
+
+    public BigDecimal getSellingPrice() {
+        return sellingPrice;
+    }
+
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+
+    public BigDecimal getPurchaseCommission() {
+        return purchaseCommission;
+    }
+
+    public BigDecimal getFreightCost() {
+        return freightCost;
+    }
+
+    public BigDecimal getServicesTotal() {
+        return servicesTotal;
+    }
+
+    public BigDecimal getTotalTaxes() {
+        return totalTaxes;
+    }
+
+    public BigDecimal getCommissionIr() {
+        return commissionIr;
+    }
+
+    public BigDecimal getProfit() {
+        return profit;
+    }
+}
@@ -29,6 +29,7 @@ public class Vehicle {
     private VehicleStatus status;
     private UUID assignedPartnerId;
     private Instant distributedAt;
+    private Instant soldAt;
     private Instant createdAt;
     private Instant updatedAt;
 
@@ -52,6 +53,7 @@ public class Vehicle {
                    VehicleStatus status,
                    UUID assignedPartnerId,
                    Instant distributedAt,
+                   Instant soldAt,
                    Instant createdAt,
                    Instant updatedAt) {
         this.id = id;
@@ -74,6 +76,7 @@ public class Vehicle {
         this.status = status;
         this.assignedPartnerId = assignedPartnerId;
         this.distributedAt = distributedAt;
+        this.soldAt = soldAt;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -225,6 +228,10 @@ public class Vehicle {
         return distributedAt;
     }
 
+    public Instant getSoldAt() {
+        return soldAt;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -265,6 +272,10 @@ public class Vehicle {
         this.distributedAt = distributedAt;
     }
 
+    public void setSoldAt(Instant soldAt) {
+        this.soldAt = soldAt;
+    }
+
     public boolean isStatusTransitionAllowed(VehicleStatus target) {
         return status == null || status.isTransitionAllowed(target);
     }
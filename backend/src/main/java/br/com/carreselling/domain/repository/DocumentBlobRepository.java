@@ -0,0 +1,14 @@
+package br.com.carreselling.domain.repository;
+
+import java.util.Optional;
+
+public interface DocumentBlobRepository {
+
+    void incrementReference(String blobName, long sizeBytes);
+
+    Optional<Long> findReferenceCountForUpdate(String blobName);
+
+    void decrementReference(String blobName);
+
+    void deleteBlob(String blobName);
+}
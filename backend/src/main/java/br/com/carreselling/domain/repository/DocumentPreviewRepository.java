@@ -0,0 +1,14 @@
+package br.com.carreselling.domain.repository;
+
+import br.com.carreselling.domain.model.DocumentPreview;
+import java.util.List;
+import java.util.UUID;
+
+public interface DocumentPreviewRepository {
+
+    DocumentPreview savePreview(DocumentPreview preview);
+
+    List<DocumentPreview> findPreviewByDocumentId(UUID documentId);
+
+    void deletePreviewByDocumentId(UUID documentId);
+}
@@ -1,8 +1,10 @@
 package br.com.carreselling.domain.repository;
 
 import br.com.carreselling.domain.model.Document;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface DocumentRepository {
@@ -11,7 +13,13 @@ public interface DocumentRepository {
 
     Optional<Document> findDocumentById(UUID id);
 
+    Optional<Document> findDocumentByContentSha256(String contentSha256);
+
     List<Document> findDocumentByVehicleId(UUID vehicleId);
 
+    List<Document> findDocumentAfter(UUID afterId, int size);
+
+    Set<String> findExistingStorageKeys(Collection<String> storageKeys);
+
     void deleteDocument(UUID id);
 }
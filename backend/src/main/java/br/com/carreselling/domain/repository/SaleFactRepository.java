@@ -0,0 +1,22 @@
+package br.com.carreselling.domain.repository;
+
+import br.com.carreselling.domain.model.SaleFact;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SaleFactRepository {
+
+    Optional<SaleFact> findSaleFactByVehicleId(UUID vehicleId);
+
+    SaleFact saveSaleFact(SaleFact saleFact);
+
+    void deleteSaleFact(UUID vehicleId);
+
+    void applyRollupDelta(SaleFact saleFact, int sign);
+
+    List<UUID> findSoldVehicleIdWithoutSaleFact(int size);
+
+    List<UUID> findVehicleIdWithStaleSaleFact(Collection<UUID> vehicleIds);
+}
@@ -0,0 +1,12 @@
+package br.com.carreselling.domain.repository;
+
+import br.com.carreselling.domain.model.VehicleStatus;
+import java.util.Set;
+import java.util.UUID;
+
+public record VehicleFilter(VehicleStatus status, String query, Set<UUID> candidateIds) {
+
+    public static VehicleFilter of(VehicleStatus status, String query) {
+        return new VehicleFilter(status, query, null);
+    }
+}
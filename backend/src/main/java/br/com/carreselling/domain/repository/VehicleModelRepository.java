@@ -9,6 +9,8 @@ public interface VehicleModelRepository {
 
     VehicleModel saveModel(VehicleModel model);
 
+    List<VehicleModel> findModels();
+
     List<VehicleModel> findModelsByBrandId(UUID brandId);
 
     Optional<VehicleModel> findModelById(UUID id);
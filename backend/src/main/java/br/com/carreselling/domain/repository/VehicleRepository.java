@@ -3,7 +3,10 @@ package br.com.carreselling.domain.repository;
 import br.com.carreselling.domain.model.Vehicle;
 import br.com.carreselling.domain.model.VehicleStatus;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,15 +16,23 @@ public interface VehicleRepository {
 
     Optional<Vehicle> findVehicleById(UUID id);
 
+    Optional<Vehicle> findVehicleByIdForUpdate(UUID id);
+
     Optional<Vehicle> findVehicleByLicensePlate(String licensePlate);
 
     Optional<Vehicle> findVehicleByRenavam(String renavam);
 
     Optional<Vehicle> findVehicleByVin(String vin);
 
-    List<Vehicle> findVehicleByFilter(VehicleStatus status, String query, int offset, int size);
+    List<Vehicle> findVehicles();
+
+    List<Vehicle> findVehicleSoldBetween(LocalDate startDate, LocalDate endDate);
+
+    List<Vehicle> findVehicleByFilter(VehicleFilter filter, int offset, int size);
+
+    long countVehicleByFilter(VehicleFilter filter);
 
-    long countVehicleByFilter(VehicleStatus status, String query);
+    Map<VehicleStatus, Long> countVehicleByStatus();
 
     Vehicle updateVehicle(Vehicle vehicle);
 
@@ -29,5 +40,13 @@ public interface VehicleRepository {
 
     BigDecimal findVehicleServicesTotalByVehicleId(UUID vehicleId);
 
+    void applyServicesDelta(UUID vehicleId, BigDecimal totalDelta, int countDelta);
+
+    List<UUID> findVehicleIdAfter(UUID afterId, int size);
+
+    List<UUID> findVehicleIdWithServicesTotalMismatch(Collection<UUID> vehicleIds);
+
+    void resyncServicesTotal(UUID vehicleId);
+
     int countVehicleDocumentsByVehicleId(UUID vehicleId);
 }
@@ -0,0 +1,182 @@
+package br.com.carreselling.infrastructure.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.http.ContentDisposition;
+
+public class MultipartStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream input;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private boolean finished;
+    private PartInputStream current;
+
+    public MultipartStream(InputStream input, String boundary) {
+        this.input = input;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 4)];
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.tail = 2;
+    }
+
+    public Optional<Part> nextPart() throws IOException {
+        if (finished) {
+            return Optional.empty();
+        }
+        (current == null ? new PartInputStream() : current).transferTo(OutputStream.nullOutputStream());
+        if (!ensure(2)) {
+            throw new IOException("Unexpected end of multipart stream");
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            current = null;
+            return Optional.empty();
+        }
+        readLine();
+        String name = null;
+        String filename = null;
+        String contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart headers too large");
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String headerName = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String headerValue = line.substring(colon + 1).trim();
+            if (headerName.equals("content-disposition")) {
+                ContentDisposition disposition = ContentDisposition.parse(headerValue);
+                name = disposition.getName();
+                filename = disposition.getFilename();
+            } else if (headerName.equals("content-type")) {
+                contentType = headerValue;
+            }
+        }
+        current = new PartInputStream();
+        return Optional.of(new Part(name, filename, contentType, current));
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            if (!ensure(1)) {
+                throw new IOException("Unexpected end of multipart headers");
+            }
+            byte value = buffer[head++];
+            if (value == '\n') {
+                break;
+            }
+            if (value != '\r') {
+                line.write(value);
+            }
+            if (line.size() > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart header line too long");
+            }
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private boolean ensure(int bytes) throws IOException {
+        while (tail - head < bytes) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int read = input.read(buffer, tail, buffer.length - tail);
+        if (read < 0) {
+            return false;
+        }
+        tail += read;
+        return true;
+    }
+
+    private int indexOfDelimiter(int from, int limit) {
+        int last = limit - delimiter.length;
+        outer:
+        for (int position = from; position <= last; position++) {
+            for (int offset = 0; offset < delimiter.length; offset++) {
+                if (buffer[position + offset] != delimiter[offset]) {
+                    continue outer;
+                }
+            }
+            return position;
+        }
+        return -1;
+    }
+
+    public record Part(String name, String filename, String contentType, InputStream body) {
+
+        public boolean isFile() {
+            return filename != null;
+        }
+    }
+
+    private class PartInputStream extends InputStream {
+
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                int limit = Math.min(tail, head + length + delimiter.length - 1);
+                int index = indexOfDelimiter(head, limit);
+                if (index == head) {
+                    head += delimiter.length;
+                    ended = true;
+                    return -1;
+                }
+                int available = index >= 0
+                    ? index - head
+                    : limit - (delimiter.length - 1) - head;
+                if (available > 0) {
+                    int count = Math.min(length, available);
+                    System.arraycopy(buffer, head, target, offset, count);
+                    head += count;
+                    return count;
+                }
+                if (!fill()) {
+                    throw new IOException("Unexpected end of multipart stream");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.carreselling.infrastructure.persistence;
+
+import br.com.carreselling.domain.repository.DocumentBlobRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class DocumentBlobJdbcRepository implements DocumentBlobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DocumentBlobJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void incrementReference(String blobName, long sizeBytes) {
+        jdbcTemplate.update("""
+                INSERT INTO document_blobs (blob_name, size_bytes, ref_count, created_at)
+                VALUES (?, ?, 1, ?)
+                ON DUPLICATE KEY UPDATE ref_count = ref_count + 1
+                """,
+            blobName,
+            sizeBytes,
+            Timestamp.from(Instant.now())
+        );
+    }
+
+    @Override
+    public Optional<Long> findReferenceCountForUpdate(String blobName) {
+        List<Long> result = jdbcTemplate.queryForList("""
+                SELECT ref_count FROM document_blobs WHERE blob_name = ? FOR UPDATE
+                """,
+            Long.class,
+            blobName);
+        return result.stream().findFirst();
+    }
+
+    @Override
+    public void decrementReference(String blobName) {
+        jdbcTemplate.update("UPDATE document_blobs SET ref_count = ref_count - 1 WHERE blob_name = ?", blobName);
+    }
+
+    @Override
+    public void deleteBlob(String blobName) {
+        jdbcTemplate.update("DELETE FROM document_blobs WHERE blob_name = ?", blobName);
+    }
+}
@@ -7,8 +7,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -28,8 +33,8 @@ public class DocumentJdbcRepository implements DocumentRepository {
         jdbcTemplate.update("""
                 INSERT INTO documents
                 (id, vehicle_id, document_type, original_file_name, content_type, size_bytes,
-                 storage_key, uploaded_at, uploaded_by)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                 content_sha256, stored_size_bytes, content_encoding, storage_key, uploaded_at, uploaded_by)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """,
             document.getId().toString(),
             document.getVehicleId().toString(),
@@ -37,6 +42,9 @@ public class DocumentJdbcRepository implements DocumentRepository {
             document.getOriginalFileName(),
             document.getContentType(),
             document.getSizeBytes(),
+            document.getContentSha256(),
+            document.getStoredSizeBytes(),
+            document.getContentEncoding(),
             document.getStorageKey(),
             Timestamp.from(document.getUploadedAt()),
             document.getUploadedBy()
@@ -54,6 +62,16 @@ public class DocumentJdbcRepository implements DocumentRepository {
         return result.stream().findFirst();
     }
 
+    @Override
+    public Optional<Document> findDocumentByContentSha256(String contentSha256) {
+        List<Document> result = jdbcTemplate.query("""
+                SELECT * FROM documents WHERE content_sha256 = ? LIMIT 1
+                """,
+            new DocumentRowMapper(),
+            contentSha256);
+        return result.stream().findFirst();
+    }
+
     @Override
     public List<Document> findDocumentByVehicleId(UUID vehicleId) {
         return jdbcTemplate.query("""
@@ -63,6 +81,38 @@ public class DocumentJdbcRepository implements DocumentRepository {
             vehicleId.toString());
     }
 
+    @Override
+    public List<Document> findDocumentAfter(UUID afterId, int size) {
+        if (afterId == null) {
+            return jdbcTemplate.query("""
+                    SELECT * FROM documents ORDER BY id LIMIT ?
+                    """,
+                new DocumentRowMapper(),
+                size);
+        }
+        return jdbcTemplate.query("""
+                SELECT * FROM documents WHERE id > ? ORDER BY id LIMIT ?
+                """,
+            new DocumentRowMapper(),
+            afterId.toString(),
+            size);
+    }
+
+    @Override
+    public Set<String> findExistingStorageKeys(Collection<String> storageKeys) {
+        if (storageKeys.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(storageKeys.size(), "?"));
+        List<Object> params = new ArrayList<>(storageKeys);
+        params.addAll(storageKeys);
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT storage_key FROM documents WHERE storage_key IN (" + placeholders + ") "
+                + "UNION SELECT storage_key FROM document_previews WHERE storage_key IN (" + placeholders + ")",
+            String.class,
+            params.toArray()));
+    }
+
     @Override
     public void deleteDocument(UUID id) {
         jdbcTemplate.update("DELETE FROM documents WHERE id = ?", id.toString());
@@ -78,10 +128,26 @@ public class DocumentJdbcRepository implements DocumentRepository {
             String originalFileName = rs.getString("original_file_name");
             String contentType = rs.getString("content_type");
             long sizeBytes = rs.getLong("size_bytes");
+            String contentSha256 = rs.getString("content_sha256");
+            long storedSizeBytes = rs.getLong("stored_size_bytes");
+            String contentEncoding = rs.getString("content_encoding");
             String storageKey = rs.getString("storage_key");
             Instant uploadedAt = rs.getTimestamp("uploaded_at").toInstant();
             String uploadedBy = rs.getString("uploaded_by");
-            return new Document(id, vehicleId, documentType, originalFileName, contentType, sizeBytes, storageKey, uploadedAt, uploadedBy);
+            return new Document(
+                id,
+                vehicleId,
+                documentType,
+                originalFileName,
+                contentType,
+                sizeBytes,
+                contentSha256,
+                storedSizeBytes,
+                contentEncoding,
+                storageKey,
+                uploadedAt,
+                uploadedBy
+            );
         }
     }
 }
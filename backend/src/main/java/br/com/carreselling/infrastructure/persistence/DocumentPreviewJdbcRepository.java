@@ -0,0 +1,70 @@
+package br.com.carreselling.infrastructure.persistence;
+
+import br.com.carreselling.domain.model.DocumentPreview;
+import br.com.carreselling.domain.repository.DocumentPreviewRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class DocumentPreviewJdbcRepository implements DocumentPreviewRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DocumentPreviewJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public DocumentPreview savePreview(DocumentPreview preview) {
+        jdbcTemplate.update("""
+                INSERT INTO document_previews
+                (document_id, width, height, content_type, size_bytes, storage_key, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """,
+            preview.getDocumentId().toString(),
+            preview.getWidth(),
+            preview.getHeight(),
+            preview.getContentType(),
+            preview.getSizeBytes(),
+            preview.getStorageKey(),
+            Timestamp.from(preview.getCreatedAt())
+        );
+        return preview;
+    }
+
+    @Override
+    public List<DocumentPreview> findPreviewByDocumentId(UUID documentId) {
+        return jdbcTemplate.query("""
+                SELECT * FROM document_previews WHERE document_id = ? ORDER BY width
+                """,
+            new DocumentPreviewRowMapper(),
+            documentId.toString());
+    }
+
+    @Override
+    public void deletePreviewByDocumentId(UUID documentId) {
+        jdbcTemplate.update("DELETE FROM document_previews WHERE document_id = ?", documentId.toString());
+    }
+
+    private static class DocumentPreviewRowMapper implements RowMapper<DocumentPreview> {
+
+        @Override
+        public DocumentPreview mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new DocumentPreview(
+                UUID.fromString(rs.getString("document_id")),
+                rs.getInt("width"),
+                rs.getInt("height"),
+                rs.getString("content_type"),
+                rs.getLong("size_bytes"),
+                rs.getString("storage_key"),
+                rs.getTimestamp("created_at").toInstant()
+            );
+        }
+    }
+}
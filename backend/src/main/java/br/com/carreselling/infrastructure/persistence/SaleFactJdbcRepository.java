@@ -0,0 +1,180 @@
+package br.com.carreselling.infrastructure.persistence;
+
+import br.com.carreselling.domain.model.SaleFact;
+import br.com.carreselling.domain.repository.SaleFactRepository;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SaleFactJdbcRepository implements SaleFactRepository {
+
+    private static final String NO_PARTNER = "";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SaleFactJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<SaleFact> findSaleFactByVehicleId(UUID vehicleId) {
+        List<SaleFact> result = jdbcTemplate.query("""
+                SELECT * FROM sale_facts WHERE vehicle_id = ?
+                """,
+            new SaleFactRowMapper(),
+            vehicleId.toString());
+        return result.stream().findFirst();
+    }
+
+    @Override
+    public SaleFact saveSaleFact(SaleFact saleFact) {
+        jdbcTemplate.update("""
+                INSERT INTO sale_facts
+                (vehicle_id, sold_on, license_plate, brand, model, year, partner_id, selling_price, purchase_price,
+                 purchase_commission, freight_cost, services_total, total_taxes, commission_ir, profit, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    sold_on = VALUES(sold_on), license_plate = VALUES(license_plate), brand = VALUES(brand),
+                    model = VALUES(model), year = VALUES(year), partner_id = VALUES(partner_id),
+                    selling_price = VALUES(selling_price), purchase_price = VALUES(purchase_price),
+                    purchase_commission = VALUES(purchase_commission), freight_cost = VALUES(freight_cost),
+                    services_total = VALUES(services_total), total_taxes = VALUES(total_taxes),
+                    commission_ir = VALUES(commission_ir), profit = VALUES(profit), updated_at = VALUES(updated_at)
+                """,
+            saleFact.getVehicleId().toString(),
+            Date.valueOf(saleFact.getSoldOn()),
+            saleFact.getLicensePlate(),
+            saleFact.getBrand(),
+            saleFact.getModel(),
+            saleFact.getYear(),
+            saleFact.getPartnerId() == null ? null : saleFact.getPartnerId().toString(),
+            saleFact.getSellingPrice(),
+            saleFact.getPurchasePrice(),
+            saleFact.getPurchaseCommission(),
+            saleFact.getFreightCost(),
+            saleFact.getServicesTotal(),
+            saleFact.getTotalTaxes(),
+            saleFact.getCommissionIr(),
+            saleFact.getProfit(),
+            Timestamp.from(Instant.now())
+        );
+        return saleFact;
+    }
+
+    @Override
+    public void deleteSaleFact(UUID vehicleId) {
+        jdbcTemplate.update("DELETE FROM sale_facts WHERE vehicle_id = ?", vehicleId.toString());
+    }
+
+    @Override
+    public void applyRollupDelta(SaleFact saleFact, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        jdbcTemplate.update("""
+                INSERT INTO sale_daily_rollup
+                (sold_on, brand, model, partner_id, vehicles_sold, total_sold, total_taxes, total_services,
+                 total_commission, total_profit)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    vehicles_sold = vehicles_sold + VALUES(vehicles_sold),
+                    total_sold = total_sold + VALUES(total_sold),
+                    total_taxes = total_taxes + VALUES(total_taxes),
+                    total_services = total_services + VALUES(total_services),
+                    total_commission = total_commission + VALUES(total_commission),
+                    total_profit = total_profit + VALUES(total_profit)
+                """,
+            Date.valueOf(saleFact.getSoldOn()),
+            saleFact.getBrand(),
+            saleFact.getModel(),
+            saleFact.getPartnerId() == null ? NO_PARTNER : saleFact.getPartnerId().toString(),
+            sign,
+            saleFact.getSellingPrice().multiply(factor),
+            saleFact.getTotalTaxes().multiply(factor),
+            saleFact.getServicesTotal().multiply(factor),
+            saleFact.getPurchaseCommission().multiply(factor),
+            saleFact.getProfit().multiply(factor)
+        );
+    }
+
+    @Override
+    public List<UUID> findSoldVehicleIdWithoutSaleFact(int size) {
+        return jdbcTemplate.queryForList("""
+                SELECT v.id
+                FROM vehicles v
+                LEFT JOIN sale_facts f ON f.vehicle_id = v.id
+                WHERE v.status = 'SOLD' AND v.selling_price IS NOT NULL AND f.vehicle_id IS NULL
+                LIMIT ?
+                """,
+                String.class,
+                size)
+            .stream()
+            .map(UUID::fromString)
+            .toList();
+    }
+
+    @Override
+    public List<UUID> findVehicleIdWithStaleSaleFact(Collection<UUID> vehicleIds) {
+        if (vehicleIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                SELECT v.id
+                FROM vehicles v
+                LEFT JOIN sale_facts f ON f.vehicle_id = v.id
+                WHERE v.id IN (%s)
+                  AND ((v.status = 'SOLD' AND v.selling_price IS NOT NULL) <> (f.vehicle_id IS NOT NULL)
+                    OR (f.vehicle_id IS NOT NULL AND NOT (
+                        f.sold_on <=> DATE(COALESCE(v.sold_at, v.updated_at))
+                        AND f.license_plate <=> v.license_plate
+                        AND f.brand <=> v.brand
+                        AND f.model <=> v.model
+                        AND f.year <=> v.year
+                        AND f.partner_id <=> v.assigned_partner_id
+                        AND f.selling_price <=> v.selling_price
+                        AND f.purchase_price <=> v.purchase_price
+                        AND f.purchase_commission <=> COALESCE(v.purchase_commission, 0)
+                        AND f.freight_cost <=> v.freight_cost
+                        AND f.services_total <=> v.services_total)))
+                """.formatted(String.join(", ", Collections.nCopies(vehicleIds.size(), "?")));
+        return jdbcTemplate.queryForList(sql, String.class, vehicleIds.stream().map(UUID::toString).toArray())
+            .stream()
+            .map(UUID::fromString)
+            .toList();
+    }
+
+    private static class SaleFactRowMapper implements RowMapper<SaleFact> {
+
+        @Override
+        public SaleFact mapRow(ResultSet rs, int rowNum) throws SQLException {
+            String partnerId = rs.getString("partner_id");
+            return new SaleFact(
+                UUID.fromString(rs.getString("vehicle_id")),
+                rs.getDate("sold_on").toLocalDate(),
+                rs.getString("license_plate"),
+                rs.getString("brand"),
+                rs.getString("model"),
+                rs.getInt("year"),
+                partnerId == null ? null : UUID.fromString(partnerId),
+                rs.getBigDecimal("selling_price"),
+                rs.getBigDecimal("purchase_price"),
+                rs.getBigDecimal("purchase_commission"),
+                rs.getBigDecimal("freight_cost"),
+                rs.getBigDecimal("services_total"),
+                rs.getBigDecimal("total_taxes"),
+                rs.getBigDecimal("commission_ir"),
+                rs.getBigDecimal("profit")
+            );
+        }
+    }
+}
@@ -87,12 +87,12 @@ public class ServiceJdbcRepository implements ServiceRepository {
 
     @Override
     public BigDecimal findServiceTotalByVehicleId(UUID vehicleId) {
-        BigDecimal total = jdbcTemplate.queryForObject("""
-                SELECT COALESCE(SUM(service_value), 0) FROM services WHERE vehicle_id = ?
+        List<BigDecimal> total = jdbcTemplate.queryForList("""
+                SELECT services_total FROM vehicles WHERE id = ?
                 """,
-            new Object[]{vehicleId.toString()},
-            BigDecimal.class);
-        return total == null ? BigDecimal.ZERO : total;
+            BigDecimal.class,
+            vehicleId.toString());
+        return total.isEmpty() ? BigDecimal.ZERO : total.get(0);
     }
 
     private static class ServiceRowMapper implements RowMapper<ServiceEntry> {
@@ -1,16 +1,27 @@
 package br.com.carreselling.infrastructure.persistence;
 
+import br.com.carreselling.application.service.model.VehicleDetail;
+import br.com.carreselling.application.service.model.VehicleSummary;
+import br.com.carreselling.application.service.query.VehicleQueryRepository;
 import br.com.carreselling.domain.model.SupplierSource;
 import br.com.carreselling.domain.model.Vehicle;
 import br.com.carreselling.domain.model.VehicleStatus;
+import br.com.carreselling.domain.repository.VehicleFilter;
 import br.com.carreselling.domain.repository.VehicleRepository;
+import br.com.carreselling.infrastructure.search.VehicleSearchStrategy;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
+import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -18,12 +29,14 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public class VehicleJdbcRepository implements VehicleRepository {
+public class VehicleJdbcRepository implements VehicleRepository, VehicleQueryRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final VehicleSearchStrategy searchStrategy;
 
-    public VehicleJdbcRepository(JdbcTemplate jdbcTemplate) {
+    public VehicleJdbcRepository(JdbcTemplate jdbcTemplate, VehicleSearchStrategy searchStrategy) {
         this.jdbcTemplate = jdbcTemplate;
+        this.searchStrategy = searchStrategy;
     }
 
     @Override
@@ -32,8 +45,9 @@ public class VehicleJdbcRepository implements VehicleRepository {
                 INSERT INTO vehicles
                 (id, license_plate, renavam, vin, year, color, model, brand, brand_id, model_id, supplier_source,
                  purchase_price, freight_cost, purchase_commission, selling_price, purchase_payment_receipt_document_id,
-                 purchase_invoice_document_id, status, assigned_partner_id, distributed_at, created_at, updated_at)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                 purchase_invoice_document_id, status, assigned_partner_id, distributed_at, sold_at, created_at,
+                 updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """,
             vehicle.getId().toString(),
             vehicle.getLicensePlate(),
@@ -55,6 +69,7 @@ public class VehicleJdbcRepository implements VehicleRepository {
             vehicle.getStatus().name(),
             optionalUuid(vehicle.getAssignedPartnerId()),
             vehicle.getDistributedAt() == null ? null : Timestamp.from(vehicle.getDistributedAt()),
+            vehicle.getSoldAt() == null ? null : Timestamp.from(vehicle.getSoldAt()),
             Timestamp.from(vehicle.getCreatedAt()),
             vehicle.getUpdatedAt() == null ? null : Timestamp.from(vehicle.getUpdatedAt())
         );
@@ -71,6 +86,31 @@ public class VehicleJdbcRepository implements VehicleRepository {
         return result.stream().findFirst();
     }
 
+    @Override
+    public Optional<Vehicle> findVehicleByIdForUpdate(UUID id) {
+        List<Vehicle> result = jdbcTemplate.query("""
+                SELECT * FROM vehicles WHERE id = ? FOR UPDATE
+                """,
+            new VehicleRowMapper(),
+            id.toString());
+        return result.stream().findFirst();
+    }
+
+    @Override
+    public Optional<VehicleDetail> findVehicleDetailById(UUID id) {
+        List<VehicleDetail> result = jdbcTemplate.query("""
+                SELECT v.*,
+                       (SELECT COUNT(*) FROM documents d WHERE d.vehicle_id = v.id) AS documents_count,
+                       p.name AS assigned_partner_name
+                FROM vehicles v
+                LEFT JOIN partners p ON p.id = v.assigned_partner_id
+                WHERE v.id = ?
+                """,
+            new VehicleDetailRowMapper(),
+            id.toString());
+        return result.stream().findFirst();
+    }
+
     @Override
     public Optional<Vehicle> findVehicleByLicensePlate(String licensePlate) {
         List<Vehicle> result = jdbcTemplate.query("""
@@ -102,21 +142,33 @@ public class VehicleJdbcRepository implements VehicleRepository {
     }
 
     @Override
-    public List<Vehicle> findVehicleByFilter(VehicleStatus status, String query, int offset, int size) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM vehicles WHERE 1=1 ");
+    public List<Vehicle> findVehicles() {
+        return jdbcTemplate.query("""
+                SELECT * FROM vehicles
+                """,
+            new VehicleRowMapper());
+    }
+
+    @Override
+    public List<Vehicle> findVehicleSoldBetween(LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.query("""
+                SELECT * FROM vehicles
+                WHERE status = 'SOLD'
+                  AND sold_at >= ?
+                  AND sold_at < ?
+                ORDER BY sold_at ASC, license_plate ASC
+                """,
+            new VehicleRowMapper(),
+            Date.valueOf(startDate),
+            Date.valueOf(endDate.plusDays(1)));
+    }
+
+    @Override
+    public List<Vehicle> findVehicleByFilter(VehicleFilter filter, int offset, int size) {
         List<Object> params = new ArrayList<>();
-        if (status != null) {
-            sql.append("AND status = ? ");
-            params.add(status.name());
-        }
-        if (query != null && !query.isBlank()) {
-            sql.append("AND (license_plate LIKE ? OR model LIKE ? OR brand LIKE ?) ");
-            String q = "%" + query + "%";
-            params.add(q);
-            params.add(q);
-            params.add(q);
-        }
-        sql.append("ORDER BY created_at DESC LIMIT ? OFFSET ?");
+        StringBuilder sql = rankedSelect(filter, params);
+        appendFilter(sql, params, filter);
+        sql.append("ORDER BY search_rank DESC, created_at DESC, id DESC LIMIT ? OFFSET ?");
         params.add(size);
         params.add(offset);
         return jdbcTemplate.query(java.util.Objects.requireNonNull(sql.toString()),
@@ -125,20 +177,53 @@ public class VehicleJdbcRepository implements VehicleRepository {
     }
 
     @Override
-    public long countVehicleByFilter(VehicleStatus status, String query) {
-        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM vehicles WHERE 1=1 ");
+    public List<VehicleSummary> findVehicleSummaryByFilter(VehicleFilter filter, int offset, int size) {
         List<Object> params = new ArrayList<>();
-        if (status != null) {
-            sql.append("AND status = ? ");
-            params.add(status.name());
-        }
-        if (query != null && !query.isBlank()) {
-            sql.append("AND (license_plate LIKE ? OR model LIKE ? OR brand LIKE ?) ");
-            String q = "%" + query + "%";
-            params.add(q);
-            params.add(q);
-            params.add(q);
+        StringBuilder page = rankedSelect(filter, params);
+        appendFilter(page, params, filter);
+        page.append("ORDER BY search_rank DESC, created_at DESC, id DESC LIMIT ? OFFSET ?");
+        params.add(size);
+        params.add(offset);
+        return findVehicleSummaryPage(page, params);
+    }
+
+    @Override
+    public List<VehicleSummary> findVehicleSummaryAfter(VehicleFilter filter,
+                                                        Instant afterCreatedAt,
+                                                        UUID afterId,
+                                                        int size) {
+        StringBuilder page = new StringBuilder("SELECT vehicles.*, 0 AS search_rank FROM vehicles WHERE 1=1 ");
+        List<Object> params = new ArrayList<>();
+        appendFilter(page, params, filter);
+        if (afterCreatedAt != null && afterId != null) {
+            page.append("AND (created_at < ? OR (created_at = ? AND id < ?)) ");
+            params.add(Timestamp.from(afterCreatedAt));
+            params.add(Timestamp.from(afterCreatedAt));
+            params.add(afterId.toString());
         }
+        page.append("ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(size);
+        return findVehicleSummaryPage(page, params);
+    }
+
+    private List<VehicleSummary> findVehicleSummaryPage(StringBuilder page, List<Object> params) {
+        String sql = """
+                SELECT v.*,
+                       p.name AS assigned_partner_name
+                FROM (%s) v
+                LEFT JOIN partners p ON p.id = v.assigned_partner_id
+                ORDER BY v.search_rank DESC, v.created_at DESC, v.id DESC
+                """.formatted(page);
+        return jdbcTemplate.query(sql,
+            new VehicleSummaryRowMapper(),
+            params.toArray(new Object[0]));
+    }
+
+    @Override
+    public long countVehicleByFilter(VehicleFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM vehicles WHERE 1=1 ");
+        List<Object> params = new ArrayList<>();
+        appendFilter(sql, params, filter);
         Long count = jdbcTemplate.queryForObject(
             java.util.Objects.requireNonNull(sql.toString()),
             Long.class,
@@ -147,6 +232,18 @@ public class VehicleJdbcRepository implements VehicleRepository {
         return count == null ? 0L : count;
     }
 
+    @Override
+    public Map<VehicleStatus, Long> countVehicleByStatus() {
+        Map<VehicleStatus, Long> counts = new EnumMap<>(VehicleStatus.class);
+        jdbcTemplate.query("""
+                SELECT status, COUNT(*) AS total FROM vehicles GROUP BY status
+                """,
+            rs -> {
+                counts.put(VehicleStatus.valueOf(rs.getString("status")), rs.getLong("total"));
+            });
+        return counts;
+    }
+
     @Override
     public Vehicle updateVehicle(Vehicle vehicle) {
         jdbcTemplate.update("""
@@ -154,7 +251,7 @@ public class VehicleJdbcRepository implements VehicleRepository {
                 SET renavam = ?, vin = ?, year = ?, color = ?, model = ?, brand = ?, brand_id = ?, model_id = ?, supplier_source = ?,
                     purchase_price = ?, freight_cost = ?, purchase_commission = ?, selling_price = ?,
                     purchase_payment_receipt_document_id = ?, purchase_invoice_document_id = ?,
-                    status = ?, assigned_partner_id = ?, distributed_at = ?, updated_at = ?
+                    status = ?, assigned_partner_id = ?, distributed_at = ?, sold_at = ?, updated_at = ?
                 WHERE id = ?
                 """,
             vehicle.getRenavam(),
@@ -175,6 +272,7 @@ public class VehicleJdbcRepository implements VehicleRepository {
             vehicle.getStatus().name(),
             optionalUuid(vehicle.getAssignedPartnerId()),
             vehicle.getDistributedAt() == null ? null : Timestamp.from(vehicle.getDistributedAt()),
+            vehicle.getSoldAt() == null ? null : Timestamp.from(vehicle.getSoldAt()),
             vehicle.getUpdatedAt() == null ? Timestamp.from(Instant.now()) : Timestamp.from(vehicle.getUpdatedAt()),
             vehicle.getId().toString()
         );
@@ -188,12 +286,66 @@ public class VehicleJdbcRepository implements VehicleRepository {
 
     @Override
     public BigDecimal findVehicleServicesTotalByVehicleId(UUID vehicleId) {
-        BigDecimal total = jdbcTemplate.queryForObject("""
-                SELECT COALESCE(SUM(service_value), 0) FROM services WHERE vehicle_id = ?
+        List<BigDecimal> total = jdbcTemplate.queryForList("""
+                SELECT services_total FROM vehicles WHERE id = ?
                 """,
             BigDecimal.class,
             vehicleId.toString());
-        return total == null ? BigDecimal.ZERO : total;
+        return total.isEmpty() ? BigDecimal.ZERO : total.get(0);
+    }
+
+    @Override
+    public void applyServicesDelta(UUID vehicleId, BigDecimal totalDelta, int countDelta) {
+        jdbcTemplate.update("""
+                UPDATE vehicles
+                SET services_total = services_total + ?, services_count = services_count + ?
+                WHERE id = ?
+                """,
+            totalDelta,
+            countDelta,
+            vehicleId.toString());
+    }
+
+    @Override
+    public List<UUID> findVehicleIdAfter(UUID afterId, int size) {
+        List<String> ids = afterId == null
+            ? jdbcTemplate.queryForList("SELECT id FROM vehicles ORDER BY id LIMIT ?", String.class, size)
+            : jdbcTemplate.queryForList("SELECT id FROM vehicles WHERE id > ? ORDER BY id LIMIT ?",
+                String.class, afterId.toString(), size);
+        return ids.stream().map(UUID::fromString).toList();
+    }
+
+    @Override
+    public List<UUID> findVehicleIdWithServicesTotalMismatch(Collection<UUID> vehicleIds) {
+        if (vehicleIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                SELECT v.id
+                FROM vehicles v
+                LEFT JOIN LATERAL (
+                    SELECT COALESCE(SUM(service_value), 0) AS total, COUNT(*) AS service_count
+                    FROM services
+                    WHERE vehicle_id = v.id
+                ) s ON TRUE
+                WHERE v.id IN (%s)
+                  AND (v.services_total <> s.total OR v.services_count <> s.service_count)
+                """.formatted(String.join(", ", Collections.nCopies(vehicleIds.size(), "?")));
+        return jdbcTemplate.queryForList(sql, String.class, vehicleIds.stream().map(UUID::toString).toArray())
+            .stream()
+            .map(UUID::fromString)
+            .toList();
+    }
+
+    @Override
+    public void resyncServicesTotal(UUID vehicleId) {
+        jdbcTemplate.update("""
+                UPDATE vehicles v
+                SET v.services_total = (SELECT COALESCE(SUM(s.service_value), 0) FROM services s WHERE s.vehicle_id = v.id),
+                    v.services_count = (SELECT COUNT(*) FROM services s WHERE s.vehicle_id = v.id)
+                WHERE v.id = ?
+                """,
+            vehicleId.toString());
     }
 
     @Override
@@ -206,10 +358,73 @@ public class VehicleJdbcRepository implements VehicleRepository {
         return count == null ? 0 : count;
     }
 
+    private StringBuilder rankedSelect(VehicleFilter filter, List<Object> params) {
+        String relevance = null;
+        if (filter.candidateIds() == null && filter.query() != null && !filter.query().isBlank()) {
+            relevance = searchStrategy.relevance(filter.query(), params);
+        }
+        return new StringBuilder("SELECT vehicles.*, ")
+            .append(relevance == null ? "0" : relevance)
+            .append(" AS search_rank FROM vehicles WHERE 1=1 ");
+    }
+
+    private void appendFilter(StringBuilder sql, List<Object> params, VehicleFilter filter) {
+        if (filter.status() != null) {
+            sql.append("AND status = ? ");
+            params.add(filter.status().name());
+        }
+        if (filter.candidateIds() != null) {
+            if (filter.candidateIds().isEmpty()) {
+                sql.append("AND 1=0 ");
+                return;
+            }
+            sql.append("AND id IN (")
+                .append(String.join(", ", Collections.nCopies(filter.candidateIds().size(), "?")))
+                .append(") ");
+            filter.candidateIds().forEach(id -> params.add(id.toString()));
+        }
+        // The in-memory index only narrows the scan; the text predicate stays authoritative.
+        String query = filter.query();
+        if (query != null && !query.isBlank()) {
+            searchStrategy.appendCondition(query, sql, params);
+        }
+    }
+
     private static String optionalUuid(UUID id) {
         return id == null ? null : id.toString();
     }
 
+    private static class VehicleDetailRowMapper implements RowMapper<VehicleDetail> {
+
+        private final VehicleRowMapper vehicleRowMapper = new VehicleRowMapper();
+
+        @Override
+        public VehicleDetail mapRow(@org.springframework.lang.NonNull ResultSet rs, int rowNum) throws SQLException {
+            Vehicle vehicle = vehicleRowMapper.mapRow(rs, rowNum);
+            return VehicleDetail.of(
+                vehicle,
+                rs.getBigDecimal("services_total"),
+                rs.getInt("documents_count"),
+                rs.getString("assigned_partner_name")
+            );
+        }
+    }
+
+    private static class VehicleSummaryRowMapper implements RowMapper<VehicleSummary> {
+
+        private final VehicleRowMapper vehicleRowMapper = new VehicleRowMapper();
+
+        @Override
+        public VehicleSummary mapRow(@org.springframework.lang.NonNull ResultSet rs, int rowNum) throws SQLException {
+            Vehicle vehicle = vehicleRowMapper.mapRow(rs, rowNum);
+            return VehicleSummary.of(
+                vehicle,
+                rs.getBigDecimal("services_total"),
+                rs.getString("assigned_partner_name")
+            );
+        }
+    }
+
     private static class VehicleRowMapper implements RowMapper<Vehicle> {
 
         @Override
@@ -234,6 +449,7 @@ public class VehicleJdbcRepository implements VehicleRepository {
             VehicleStatus status = VehicleStatus.valueOf(rs.getString("status"));
             UUID assignedPartnerId = optionalUuid(rs.getString("assigned_partner_id"));
             Timestamp distributedAt = rs.getTimestamp("distributed_at");
+            Timestamp soldAt = rs.getTimestamp("sold_at");
             Instant createdAt = rs.getTimestamp("created_at").toInstant();
             Timestamp updatedAt = rs.getTimestamp("updated_at");
             return new Vehicle(
@@ -257,6 +473,7 @@ public class VehicleJdbcRepository implements VehicleRepository {
                 status,
                 assignedPartnerId,
                 distributedAt == null ? null : distributedAt.toInstant(),
+                soldAt == null ? null : soldAt.toInstant(),
                 createdAt,
                 updatedAt == null ? null : updatedAt.toInstant()
             );
@@ -37,6 +37,14 @@ public class VehicleModelJdbcRepository implements VehicleModelRepository {
         return model;
     }
 
+    @Override
+    public List<VehicleModel> findModels() {
+        return jdbcTemplate.query("""
+                SELECT * FROM models ORDER BY brand_id ASC, name ASC
+                """,
+            new VehicleModelRowMapper());
+    }
+
     @Override
     public List<VehicleModel> findModelsByBrandId(UUID brandId) {
         return jdbcTemplate.query("""
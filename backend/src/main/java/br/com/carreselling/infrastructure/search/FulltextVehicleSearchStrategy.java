@@ -0,0 +1,53 @@
+package br.com.carreselling.infrastructure.search;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "vehicle.search.strategy", havingValue = "fulltext")
+public class FulltextVehicleSearchStrategy implements VehicleSearchStrategy {
+
+    private static final String MATCH_COLUMNS = "MATCH(license_plate, brand, model, color, vin)";
+
+    private final LikeVehicleSearchStrategy likeStrategy = new LikeVehicleSearchStrategy();
+    private final int minTokenSize;
+    private final boolean relevanceOrdering;
+
+    public FulltextVehicleSearchStrategy(@Value("${vehicle.search.fulltext.min-token-size:2}") int minTokenSize,
+                                         @Value("${vehicle.search.fulltext.relevance-ordering:false}")
+                                         boolean relevanceOrdering) {
+        this.minTokenSize = minTokenSize;
+        this.relevanceOrdering = relevanceOrdering;
+    }
+
+    @Override
+    public void appendCondition(String query, StringBuilder sql, List<Object> params) {
+        String terms = sanitize(query);
+        if (terms.length() < minTokenSize) {
+            likeStrategy.appendCondition(query, sql, params);
+            return;
+        }
+        sql.append("AND ").append(MATCH_COLUMNS).append(" AGAINST (? IN BOOLEAN MODE) ");
+        params.add("\"" + terms + "\"");
+    }
+
+    @Override
+    public String relevance(String query, List<Object> params) {
+        if (!ordersByRelevance(query)) {
+            return null;
+        }
+        params.add(sanitize(query));
+        return MATCH_COLUMNS + " AGAINST (? IN NATURAL LANGUAGE MODE)";
+    }
+
+    @Override
+    public boolean ordersByRelevance(String query) {
+        return relevanceOrdering && sanitize(query).length() >= minTokenSize;
+    }
+
+    private static String sanitize(String query) {
+        return query.replace("\"", " ").trim();
+    }
+}
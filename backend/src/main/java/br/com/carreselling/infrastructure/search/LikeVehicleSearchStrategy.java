@@ -0,0 +1,19 @@
+package br.com.carreselling.infrastructure.search;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "vehicle.search.strategy", havingValue = "like", matchIfMissing = true)
+public class LikeVehicleSearchStrategy implements VehicleSearchStrategy {
+
+    @Override
+    public void appendCondition(String query, StringBuilder sql, List<Object> params) {
+        sql.append("AND (license_plate LIKE ? OR model LIKE ? OR brand LIKE ?) ");
+        String q = "%" + query + "%";
+        params.add(q);
+        params.add(q);
+        params.add(q);
+    }
+}
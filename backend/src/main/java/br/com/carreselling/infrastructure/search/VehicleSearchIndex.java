@@ -0,0 +1,212 @@
+package br.com.carreselling.infrastructure.search;
+
+import br.com.carreselling.domain.model.Vehicle;
+import br.com.carreselling.domain.repository.VehicleRepository;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VehicleSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VehicleSearchIndex.class);
+    private static final int GRAM_SIZE = 3;
+
+    private final VehicleRepository vehicleRepository;
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final Duration reloadInterval;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private volatile Segment segment;
+    private Map<UUID, String[]> pendingWrites;
+
+    public VehicleSearchIndex(VehicleRepository vehicleRepository,
+                              @Value("${vehicle.search.index-enabled:true}") boolean enabled,
+                              @Value("${vehicle.search.strategy:like}") String strategy,
+                              @Value("${vehicle.search.max-candidates:1000}") int maxCandidates,
+                              @Value("${vehicle.search.reload-interval:PT15M}") Duration reloadInterval) {
+        this.vehicleRepository = vehicleRepository;
+        this.enabled = enabled && !"fulltext".equals(strategy);
+        this.maxCandidates = maxCandidates;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void index(Vehicle vehicle) {
+        String[] vehicleTerms = terms(vehicle);
+        synchronized (writeLock) {
+            Segment current = segment;
+            if (current != null) {
+                current.put(vehicle.getId(), vehicleTerms);
+            }
+            if (pendingWrites != null) {
+                pendingWrites.put(vehicle.getId(), vehicleTerms);
+            }
+        }
+    }
+
+    public Optional<Set<UUID>> search(String query) {
+        Segment current = segment;
+        if (current == null || query == null || query.isBlank()) {
+            return Optional.empty();
+        }
+        if (current.loadedAt.plus(reloadInterval).isBefore(Instant.now())) {
+            reloadInBackground();
+        }
+        Set<UUID> ids = current.search(normalize(query.trim()));
+        if (ids.isEmpty() || ids.size() > maxCandidates) {
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+
+    private void reloadInBackground() {
+        if (reloading.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("vehicle-search-index-reload").start(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        synchronized (writeLock) {
+            pendingWrites = new LinkedHashMap<>();
+        }
+        try {
+            Segment fresh = new Segment(Instant.now());
+            for (Vehicle vehicle : vehicleRepository.findVehicles()) {
+                fresh.put(vehicle.getId(), terms(vehicle));
+            }
+            synchronized (writeLock) {
+                pendingWrites.forEach(fresh::put);
+                segment = fresh;
+            }
+            LOGGER.info("Vehicle search index loaded with {} vehicles", fresh.terms.size());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Vehicle search index could not be loaded, falling back to database search", ex);
+        } finally {
+            synchronized (writeLock) {
+                pendingWrites = null;
+            }
+        }
+    }
+
+    private static String[] terms(Vehicle vehicle) {
+        return new String[]{
+            normalize(vehicle.getLicensePlate()),
+            normalize(vehicle.getBrand()),
+            normalize(vehicle.getModel())
+        };
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String[] terms) {
+        Set<String> grams = new HashSet<>();
+        for (String term : terms) {
+            for (int i = 0; i + GRAM_SIZE <= term.length(); i++) {
+                grams.add(term.substring(i, i + GRAM_SIZE));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean matches(String[] terms, String query) {
+        for (String term : terms) {
+            if (term.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Segment {
+
+        private final Instant loadedAt;
+        private final Map<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+        private final Map<UUID, String[]> terms = new ConcurrentHashMap<>();
+
+        private Segment(Instant loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private void put(UUID id, String[] vehicleTerms) {
+            String[] previous = terms.put(id, vehicleTerms);
+            Set<String> grams = grams(vehicleTerms);
+            if (previous != null) {
+                for (String gram : grams(previous)) {
+                    if (!grams.contains(gram)) {
+                        Set<UUID> posting = postings.get(gram);
+                        if (posting != null) {
+                            posting.remove(id);
+                        }
+                    }
+                }
+            }
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        private Set<UUID> search(String query) {
+            Set<UUID> result = new HashSet<>();
+            if (query.length() < GRAM_SIZE) {
+                terms.forEach((id, vehicleTerms) -> {
+                    if (matches(vehicleTerms, query)) {
+                        result.add(id);
+                    }
+                });
+                return result;
+            }
+            Set<UUID> smallest = null;
+            for (int i = 0; i + GRAM_SIZE <= query.length(); i++) {
+                Set<UUID> posting = postings.get(query.substring(i, i + GRAM_SIZE));
+                if (posting == null || posting.isEmpty()) {
+                    return result;
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+            for (UUID id : smallest) {
+                String[] vehicleTerms = terms.get(id);
+                if (vehicleTerms != null && matches(vehicleTerms, query)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+    }
+}
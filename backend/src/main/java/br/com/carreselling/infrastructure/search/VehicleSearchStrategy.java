@@ -0,0 +1,16 @@
+package br.com.carreselling.infrastructure.search;
+
+import java.util.List;
+
+public interface VehicleSearchStrategy {
+
+    void appendCondition(String query, StringBuilder sql, List<Object> params);
+
+    default String relevance(String query, List<Object> params) {
+        return null;
+    }
+
+    default boolean ordersByRelevance(String query) {
+        return false;
+    }
+}
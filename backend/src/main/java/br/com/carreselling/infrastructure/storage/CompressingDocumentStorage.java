@@ -0,0 +1,105 @@
+package br.com.carreselling.infrastructure.storage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.springframework.core.io.Resource;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public class CompressingDocumentStorage implements DocumentStorage {
+
+    public static final String GZIP = "gzip";
+
+    private final DocumentStorage delegate;
+    private final List<MediaType> compressibleTypes;
+    private final int level;
+
+    public CompressingDocumentStorage(DocumentStorage delegate, List<MediaType> compressibleTypes, int level) {
+        this.delegate = delegate;
+        this.compressibleTypes = compressibleTypes;
+        this.level = level;
+    }
+
+    @Override
+    public StagedBlob stage(UUID vehicleId,
+                            UUID documentId,
+                            String originalFileName,
+                            String contentType,
+                            LimitedDigestInputStream content) {
+        if (!isCompressible(contentType)) {
+            return delegate.stage(vehicleId, documentId, originalFileName, contentType, content);
+        }
+        LimitedDigestInputStream compressed =
+            content.encode(GZIP, source -> new GzipCompressingInputStream(source, level));
+        return delegate.stage(vehicleId, documentId, originalFileName, contentType, compressed);
+    }
+
+    @Override
+    public void claim(StagedBlob staged) {
+        delegate.claim(staged);
+    }
+
+    @Override
+    public void publish(StagedBlob staged) {
+        delegate.publish(staged);
+    }
+
+    @Override
+    public void discard(StagedBlob staged) {
+        delegate.discard(staged);
+    }
+
+    @Override
+    public List<StagedBlob> findStaged(Instant modifiedBefore) {
+        return delegate.findStaged(modifiedBefore);
+    }
+
+    @Override
+    public boolean reference(String storageKey) {
+        return delegate.reference(storageKey);
+    }
+
+    @Override
+    public Resource load(String storageKey) {
+        return delegate.load(storageKey);
+    }
+
+    @Override
+    public Resource load(String storageKey, UUID documentId) {
+        return delegate.load(storageKey, documentId);
+    }
+
+    @Override
+    public void delete(String storageKey) {
+        delegate.delete(storageKey);
+    }
+
+    @Override
+    public List<String> shards() {
+        return delegate.shards();
+    }
+
+    @Override
+    public List<StoredObject> list(String shard) {
+        return delegate.list(shard);
+    }
+
+    @Override
+    public boolean removeIfUnreferenced(String storageKey, Instant modifiedBefore, Predicate<String> referenced) {
+        return delegate.removeIfUnreferenced(storageKey, modifiedBefore, referenced);
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return compressibleTypes.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+}
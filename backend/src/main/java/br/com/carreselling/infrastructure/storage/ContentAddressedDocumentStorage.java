@@ -0,0 +1,161 @@
+package br.com.carreselling.infrastructure.storage;
+
+import br.com.carreselling.domain.repository.DocumentBlobRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ContentAddressedDocumentStorage extends StagingDocumentStorage {
+
+    private static final String BLOB_PREFIX = "blobs/";
+
+    private final DocumentBlobRepository blobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ContentAddressedDocumentStorage(Path basePath,
+                                           DocumentBlobRepository blobRepository,
+                                           TransactionTemplate transactionTemplate) {
+        super(basePath);
+        this.blobRepository = blobRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    protected String storageKeyFor(UUID vehicleId,
+                                   UUID documentId,
+                                   String originalFileName,
+                                   LimitedDigestInputStream content) {
+        // Keyed by the original content so the key does not depend on the encoder's output;
+        // each encoding is a separate blob, since documents decode with their own content_encoding.
+        String encoding = content.getContentEncoding();
+        return BLOB_PREFIX + content.getContentSha256() + (encoding == null ? "" : "." + encoding);
+    }
+
+    @Override
+    public void claim(StagedBlob staged) {
+        String blobName = staged.storageKey().substring(BLOB_PREFIX.length());
+        blobRepository.incrementReference(blobName, staged.storedSizeBytes());
+    }
+
+    @Override
+    protected void commit(String storageKey, Path stagedPath) {
+        String blobName = storageKey.substring(BLOB_PREFIX.length());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (blobRepository.findReferenceCountForUpdate(blobName).isEmpty()) {
+                // every document holding this content was deleted before it was published
+                deleteQuietly(stagedPath);
+                return;
+            }
+            moveIntoPlace(stagedPath, blobPath(blobName));
+        });
+    }
+
+    @Override
+    protected Path resolve(String storageKey) {
+        if (storageKey.startsWith(BLOB_PREFIX)) {
+            return blobPath(storageKey.substring(BLOB_PREFIX.length()));
+        }
+        return basePath.resolve(storageKey);
+    }
+
+    @Override
+    public boolean reference(String storageKey) {
+        if (!storageKey.startsWith(BLOB_PREFIX)) {
+            return false;
+        }
+        String blobName = storageKey.substring(BLOB_PREFIX.length());
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (blobRepository.findReferenceCountForUpdate(blobName).isEmpty()
+                || !Files.exists(blobPath(blobName))) {
+                return false;
+            }
+            blobRepository.incrementReference(blobName, 0);
+            touch(blobPath(blobName));
+            return true;
+        }));
+    }
+
+    @Override
+    public void delete(String storageKey) {
+        if (!storageKey.startsWith(BLOB_PREFIX)) {
+            deleteFile(resolve(storageKey));
+            return;
+        }
+        String blobName = storageKey.substring(BLOB_PREFIX.length());
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<Long> references = blobRepository.findReferenceCountForUpdate(blobName);
+            if (references.isEmpty()) {
+                return;
+            }
+            if (references.get() > 1) {
+                blobRepository.decrementReference(blobName);
+                return;
+            }
+            blobRepository.deleteBlob(blobName);
+            deleteFile(blobPath(blobName));
+        });
+    }
+
+    @Override
+    public boolean removeIfUnreferenced(String storageKey, Instant modifiedBefore, Predicate<String> referenced) {
+        if (!storageKey.startsWith(BLOB_PREFIX)) {
+            return super.removeIfUnreferenced(storageKey, modifiedBefore, referenced);
+        }
+        String blobName = storageKey.substring(BLOB_PREFIX.length());
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            blobRepository.findReferenceCountForUpdate(blobName);
+            Path path = blobPath(blobName);
+            if (!isOlderThan(path, modifiedBefore) || isPending(storageKey) || referenced.test(storageKey)) {
+                return false;
+            }
+            blobRepository.deleteBlob(blobName);
+            deleteFile(path);
+            return true;
+        }));
+    }
+
+    @Override
+    protected String storageKeyOf(Path path) {
+        String relative = super.storageKeyOf(path);
+        if (relative.startsWith(BLOB_PREFIX)) {
+            return BLOB_PREFIX + path.getFileName();
+        }
+        return relative;
+    }
+
+    private Path blobPath(String blobName) {
+        return basePath.resolve("blobs")
+            .resolve(blobName.substring(0, 2))
+            .resolve(blobName.substring(2, 4))
+            .resolve(blobName);
+    }
+
+    private void moveIntoPlace(Path stagedPath, Path targetPath) {
+        try {
+            if (Files.exists(targetPath)) {
+                touch(targetPath);
+                Files.deleteIfExists(stagedPath);
+                return;
+            }
+            Files.move(stagedPath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,14 +1,38 @@
 package br.com.carreselling.infrastructure.storage;
 
-import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 import org.springframework.core.io.Resource;
 
 public interface DocumentStorage {
 
-    String store(UUID vehicleId, UUID documentId, String originalFileName, InputStream inputStream);
+    StagedBlob stage(UUID vehicleId,
+                     UUID documentId,
+                     String originalFileName,
+                     String contentType,
+                     LimitedDigestInputStream content);
+
+    void claim(StagedBlob staged);
+
+    void publish(StagedBlob staged);
+
+    void discard(StagedBlob staged);
+
+    List<StagedBlob> findStaged(Instant modifiedBefore);
+
+    boolean reference(String storageKey);
 
     Resource load(String storageKey);
 
+    Resource load(String storageKey, UUID documentId);
+
     void delete(String storageKey);
+
+    List<String> shards();
+
+    List<StoredObject> list(String shard);
+
+    boolean removeIfUnreferenced(String storageKey, Instant modifiedBefore, Predicate<String> referenced);
 }
@@ -0,0 +1,35 @@
+package br.com.carreselling.infrastructure.storage;
+
+import br.com.carreselling.domain.repository.DocumentBlobRepository;
+import java.nio.file.Path;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class DocumentStorageConfig {
+
+    @Bean
+    public DocumentStorage documentStorage(@Value("${storage.base-path}") String basePath,
+                                           @Value("${storage.layout:by-document}") String layout,
+                                           @Value("${storage.compression.enabled:false}") boolean compressionEnabled,
+                                           @Value("${storage.compression.content-types:text/*,application/xml,application/json,image/bmp,image/tiff,image/x-portable-anymap}")
+                                           List<String> compressibleTypes,
+                                           @Value("${storage.compression.level:6}") int compressionLevel,
+                                           DocumentBlobRepository blobRepository,
+                                           TransactionTemplate transactionTemplate) {
+        Path base = Path.of(basePath);
+        DocumentStorage storage = switch (layout) {
+            case "content-addressed" -> new ContentAddressedDocumentStorage(base, blobRepository, transactionTemplate);
+            case "by-document" -> new LocalDocumentStorage(base);
+            default -> throw new IllegalArgumentException("storage.layout: unsupported value " + layout + ".");
+        };
+        if (!compressionEnabled) {
+            return storage;
+        }
+        return new CompressingDocumentStorage(storage, MediaType.parseMediaTypes(compressibleTypes), compressionLevel);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.carreselling.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+class GzipCompressingInputStream extends InputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater;
+    private final DeflaterInputStream body;
+    private byte[] pending = HEADER;
+    private int pendingPosition;
+    private boolean bodyFinished;
+
+    GzipCompressingInputStream(InputStream source, int level) {
+        this.deflater = new Deflater(level, true);
+        this.body = new DeflaterInputStream(new CheckedInputStream(source, crc), deflater, 64 * 1024);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            if (pending != null) {
+                if (pendingPosition < pending.length) {
+                    int count = Math.min(length, pending.length - pendingPosition);
+                    System.arraycopy(pending, pendingPosition, target, offset, count);
+                    pendingPosition += count;
+                    return count;
+                }
+                pending = null;
+                if (bodyFinished) {
+                    return -1;
+                }
+            }
+            int read = body.read(target, offset, length);
+            if (read > 0) {
+                return read;
+            }
+            if (read < 0) {
+                bodyFinished = true;
+                pending = trailer();
+                pendingPosition = 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            body.close();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] trailer() {
+        long checksum = crc.getValue();
+        long size = deflater.getBytesRead();
+        return new byte[] {
+            (byte) checksum, (byte) (checksum >> 8), (byte) (checksum >> 16), (byte) (checksum >> 24),
+            (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.carreselling.infrastructure.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.UnaryOperator;
+
+public class LimitedDigestInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final MessageDigest digest;
+    private final LimitedDigestInputStream source;
+    private final String contentEncoding;
+    private long count;
+    private boolean limitExceeded;
+    private String sha256;
+
+    public LimitedDigestInputStream(InputStream in, long maxBytes) {
+        this(in, maxBytes, null, null);
+    }
+
+    private LimitedDigestInputStream(InputStream in,
+                                     long maxBytes,
+                                     LimitedDigestInputStream source,
+                                     String contentEncoding) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.source = source;
+        this.contentEncoding = contentEncoding;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = in.read();
+        if (value >= 0) {
+            digest.update((byte) value);
+            track(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = in.read(buffer, offset, length);
+        if (read > 0) {
+            digest.update(buffer, offset, read);
+            track(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        throw new IOException("skip is not supported while digesting");
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Wraps this stream in an encoder. The returned stream counts and digests the encoded
+     * bytes, and still reports the digest of the original content.
+     */
+    public LimitedDigestInputStream encode(String encoding, UnaryOperator<InputStream> encoder) {
+        return new LimitedDigestInputStream(encoder.apply(this), Long.MAX_VALUE, this, encoding);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    public String getSha256() {
+        if (sha256 == null) {
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256;
+    }
+
+    public String getContentSha256() {
+        return source == null ? getSha256() : source.getContentSha256();
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    private void track(int read) throws IOException {
+        count += read;
+        if (count > maxBytes) {
+            limitExceeded = true;
+            throw new IOException("Content exceeds " + maxBytes + " bytes");
+        }
+    }
+}
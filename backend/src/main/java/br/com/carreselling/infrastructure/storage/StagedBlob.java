@@ -0,0 +1,15 @@
+package br.com.carreselling.infrastructure.storage;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+public record StagedBlob(UUID documentId,
+                         String storageKey,
+                         long storedSizeBytes,
+                         String contentEncoding,
+                         Path stagedPath) {
+
+    public StagedBlob withStorageKey(String key) {
+        return new StagedBlob(documentId, key, storedSizeBytes, contentEncoding, stagedPath);
+    }
+}
@@ -0,0 +1,246 @@
+package br.com.carreselling.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+abstract class StagingDocumentStorage implements DocumentStorage {
+
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final String PART_SUFFIX = ".part";
+    private static final String STAGED_SUFFIX = ".staged";
+
+    protected final Path basePath;
+    private final Path stagingPath;
+    private final Map<String, Path> pending = new ConcurrentHashMap<>();
+
+    StagingDocumentStorage(Path basePath) {
+        this.basePath = basePath;
+        this.stagingPath = basePath.resolve(STAGING_DIRECTORY);
+    }
+
+    protected abstract String storageKeyFor(UUID vehicleId,
+                                            UUID documentId,
+                                            String originalFileName,
+                                            LimitedDigestInputStream content);
+
+    protected abstract void commit(String storageKey, Path stagedPath) throws IOException;
+
+    protected abstract Path resolve(String storageKey);
+
+    @Override
+    public StagedBlob stage(UUID vehicleId,
+                            UUID documentId,
+                            String originalFileName,
+                            String contentType,
+                            LimitedDigestInputStream content) {
+        Path partPath = stagingPath.resolve(documentId + PART_SUFFIX);
+        try {
+            Files.createDirectories(stagingPath);
+            Files.copy(content, partPath, StandardCopyOption.REPLACE_EXISTING);
+            Path stagedPath = stagingPath.resolve(documentId + STAGED_SUFFIX);
+            Files.move(partPath, stagedPath, StandardCopyOption.ATOMIC_MOVE);
+            String storageKey = storageKeyFor(vehicleId, documentId, originalFileName, content);
+            pending.put(storageKey, stagedPath);
+            return new StagedBlob(documentId, storageKey, content.getCount(), content.getContentEncoding(), stagedPath);
+        } catch (IOException ex) {
+            deleteQuietly(partPath);
+            throw new IllegalStateException("Failed to store document");
+        }
+    }
+
+    @Override
+    public void publish(StagedBlob staged) {
+        Path target = resolve(staged.storageKey());
+        try {
+            force(staged.stagedPath());
+            Files.createDirectories(target.getParent());
+            commit(staged.storageKey(), staged.stagedPath());
+            forceDirectory(target.getParent());
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException("Failed to publish document");
+        }
+        pending.remove(staged.storageKey(), staged.stagedPath());
+    }
+
+    @Override
+    public void discard(StagedBlob staged) {
+        if (staged.storageKey() != null) {
+            pending.remove(staged.storageKey(), staged.stagedPath());
+        }
+        deleteQuietly(staged.stagedPath());
+    }
+
+    @Override
+    public List<StagedBlob> findStaged(Instant modifiedBefore) {
+        if (!Files.isDirectory(stagingPath)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(stagingPath)) {
+            return files
+                .filter(path -> lastModified(path).map(modified -> modified.isBefore(modifiedBefore)).orElse(false))
+                .map(path -> documentIdOf(path)
+                    .map(documentId -> new StagedBlob(documentId, null, sizeOf(path), null, path)))
+                .flatMap(Optional::stream)
+                .toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to list staged documents");
+        }
+    }
+
+    @Override
+    public Resource load(String storageKey) {
+        return new FileSystemResource(resolve(storageKey));
+    }
+
+    @Override
+    public Resource load(String storageKey, UUID documentId) {
+        Path target = resolve(storageKey);
+        if (!Files.exists(target)) {
+            Path staged = stagingPath.resolve(documentId + STAGED_SUFFIX);
+            if (Files.exists(staged)) {
+                return new FileSystemResource(staged);
+            }
+        }
+        return new FileSystemResource(target);
+    }
+
+    @Override
+    public List<String> shards() {
+        List<String> shards = new ArrayList<>();
+        for (Path directory : directories(basePath)) {
+            String name = directory.getFileName().toString();
+            if (name.startsWith(".")) {
+                continue;
+            }
+            if (name.equals("blobs")) {
+                directories(directory).forEach(child -> shards.add(name + "/" + child.getFileName()));
+            } else {
+                shards.add(name);
+            }
+        }
+        return shards;
+    }
+
+    @Override
+    public List<StoredObject> list(String shard) {
+        Path root = basePath.resolve(shard);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                .filter(Files::isRegularFile)
+                .map(path -> lastModified(path)
+                    .map(modified -> new StoredObject(storageKeyOf(path), modified)))
+                .flatMap(Optional::stream)
+                .toList();
+        } catch (IOException | UncheckedIOException ex) {
+            throw new IllegalStateException("Failed to list stored documents");
+        }
+    }
+
+    @Override
+    public boolean removeIfUnreferenced(String storageKey, Instant modifiedBefore, Predicate<String> referenced) {
+        Path target = resolve(storageKey);
+        if (!isOlderThan(target, modifiedBefore) || pending.containsKey(storageKey) || referenced.test(storageKey)) {
+            return false;
+        }
+        deleteFile(target);
+        return true;
+    }
+
+    protected boolean isOlderThan(Path path, Instant modifiedBefore) {
+        return lastModified(path).map(modified -> modified.isBefore(modifiedBefore)).orElse(false);
+    }
+
+    protected boolean isPending(String storageKey) {
+        return pending.containsKey(storageKey);
+    }
+
+    protected void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to delete document");
+        }
+    }
+
+    protected void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the original failure is reported to the caller
+        }
+    }
+
+    protected String storageKeyOf(Path path) {
+        return basePath.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // not every platform allows syncing a directory entry
+        }
+    }
+
+    private static List<Path> directories(Path parent) {
+        if (!Files.isDirectory(parent)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(parent)) {
+            return children.filter(Files::isDirectory).sorted().toList();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to list stored documents");
+        }
+    }
+
+    private static Optional<UUID> documentIdOf(Path path) {
+        String name = path.getFileName().toString();
+        int separator = name.indexOf('.');
+        try {
+            return Optional.of(UUID.fromString(separator < 0 ? name : name.substring(0, separator)));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Instant> lastModified(Path path) {
+        try {
+            return Optional.of(Files.getLastModifiedTime(path).toInstant());
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.carreselling.infrastructure.storage;
+
+import java.time.Instant;
+
+public record StoredObject(String storageKey, Instant lastModified) {
+}
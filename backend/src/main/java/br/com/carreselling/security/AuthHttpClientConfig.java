@@ -0,0 +1,58 @@
+package br.com.carreselling.security;
+
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class AuthHttpClientConfig {
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory authRequestFactory(
+        @Value("${auth.http.max-connections:100}") int maxConnections,
+        @Value("${auth.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+        @Value("${auth.http.connect-timeout:PT1S}") Duration connectTimeout,
+        @Value("${auth.http.read-timeout:PT2S}") Duration readTimeout,
+        @Value("${auth.http.pool-timeout:PT0.5S}") Duration poolTimeout,
+        @Value("${auth.http.idle-eviction:PT30S}") Duration idleEviction) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .build())
+            .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(idleEviction))
+            .disableAutomaticRetries()
+            .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public RestTemplate authRestTemplate(RestTemplateBuilder restTemplateBuilder,
+                                         HttpComponentsClientHttpRequestFactory authRequestFactory) {
+        return restTemplateBuilder
+            .requestFactory(() -> authRequestFactory)
+            .build();
+    }
+}
@@ -1,13 +1,31 @@
 package br.com.carreselling.security;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @Component
@@ -15,17 +33,86 @@ public class AuthTokenValidator {
 
     private final RestTemplate restTemplate;
     private final String authBaseUrl;
+    private final AsyncCache<String, Boolean> validations;
+    private final Cache<String, Boolean> recentlyValid;
+    private final Timer upstreamTimer;
+    private final AuthCircuitBreaker circuitBreaker;
 
-    public AuthTokenValidator(RestTemplateBuilder restTemplateBuilder,
-                              @Value("${auth.base-url:http://localhost:8081}") String authBaseUrl) {
-        this.restTemplate = restTemplateBuilder.build();
+    public AuthTokenValidator(@Qualifier("authRestTemplate") RestTemplate restTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.base-url:http://localhost:8081}") String authBaseUrl,
+                              @Value("${auth.token-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.token-cache.positive-ttl:PT1M}") Duration positiveTtl,
+                              @Value("${auth.token-cache.negative-ttl:PT10S}") Duration negativeTtl,
+                              @Value("${auth.circuit.failure-threshold:5}") int failureThreshold,
+                              @Value("${auth.circuit.open-duration:PT30S}") Duration openDuration,
+                              @Value("${auth.circuit.grace-window:PT10M}") Duration graceWindow) {
+        this.restTemplate = restTemplate;
         this.authBaseUrl = authBaseUrl;
+        // Upstream calls run off the cache's compute path, so a slow call never blocks a hash bin;
+        // concurrent requests for the same token share one pending future.
+        this.validations = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new ValidationExpiry(positiveTtl, negativeTtl))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .recordStats()
+            .buildAsync();
+        this.recentlyValid = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(graceWindow)
+            .build();
+        this.circuitBreaker = new AuthCircuitBreaker(failureThreshold, openDuration);
+        this.upstreamTimer = Timer.builder("auth.token.upstream")
+            .description("Latency of token validation calls to the auth service")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, validations.synchronous(), "authToken");
+        Gauge.builder("auth.circuit.open", circuitBreaker,
+                breaker -> breaker.state() == AuthCircuitBreaker.State.CLOSED ? 0 : 1)
+            .description("Whether the auth upstream circuit breaker is rejecting calls")
+            .register(meterRegistry);
     }
 
     public boolean isValid(String token) {
         if (token == null || token.isBlank()) {
             return false;
         }
+        String key = hash(token);
+        try {
+            return validations.get(key, (ignored, executor) ->
+                CompletableFuture.supplyAsync(() -> fetchValidity(key, token), executor)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof AuthServiceUnavailableException) {
+                return recentlyValid.getIfPresent(key) != null;
+            }
+            throw ex;
+        }
+    }
+
+    public String getAuthBaseUrl() {
+        return Objects.requireNonNull(authBaseUrl);
+    }
+
+    private Boolean fetchValidity(String key, String token) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new AuthServiceUnavailableException(null);
+        }
+        Boolean valid;
+        try {
+            valid = upstreamTimer.record(() -> callUpstream(token));
+        } catch (AuthServiceUnavailableException ex) {
+            circuitBreaker.onFailure();
+            throw ex;
+        }
+        circuitBreaker.onSuccess();
+        if (valid) {
+            recentlyValid.put(key, Boolean.TRUE);
+        } else {
+            recentlyValid.invalidate(key);
+        }
+        return valid;
+    }
+
+    private Boolean callUpstream(String token) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(token);
@@ -37,12 +124,47 @@ public class AuthTokenValidator {
                 String.class
             );
             return response.getStatusCode().is2xxSuccessful();
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED)
+                || ex.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)) {
+                return false;
+            }
+            throw new AuthServiceUnavailableException(ex);
         } catch (Exception ex) {
-            return false;
+            throw new AuthServiceUnavailableException(ex);
         }
     }
 
-    public String getAuthBaseUrl() {
-        return Objects.requireNonNull(authBaseUrl);
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static class AuthServiceUnavailableException extends RuntimeException {
+        private AuthServiceUnavailableException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private record ValidationExpiry(Duration positiveTtl, Duration negativeTtl) implements Expiry<String, Boolean> {
+
+        @Override
+        public long expireAfterCreate(String key, Boolean valid, long currentTime) {
+            return (valid ? positiveTtl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Boolean valid, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, valid, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Boolean valid, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -16,14 +16,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class BearerTokenAuthFilter extends OncePerRequestFilter {
 
     private final AuthTokenValidator tokenValidator;
+    private final LocalTokenVerifier localTokenVerifier;
 
-    public BearerTokenAuthFilter(AuthTokenValidator tokenValidator) {
+    public BearerTokenAuthFilter(AuthTokenValidator tokenValidator, LocalTokenVerifier localTokenVerifier) {
         this.tokenValidator = tokenValidator;
+        this.localTokenVerifier = localTokenVerifier;
     }
 
     @Override
     protected boolean shouldNotFilter(@org.springframework.lang.NonNull HttpServletRequest request) {
         String path = request.getRequestURI();
+        if (path.startsWith("/actuator/metrics")) {
+            return false;
+        }
         return !path.startsWith("/api/")
             || path.startsWith("/api/auth")
             || path.startsWith("/actuator")
@@ -42,14 +47,27 @@ public class BearerTokenAuthFilter extends OncePerRequestFilter {
             return;
         }
         String token = header.substring(7);
-        if (!tokenValidator.isValid(token)) {
+        String principal = "auth-user";
+        LocalTokenVerifier.Outcome outcome = LocalTokenVerifier.Outcome.UNVERIFIABLE;
+        if (localTokenVerifier.supports(token)) {
+            LocalTokenVerifier.Verification verification = localTokenVerifier.verify(token);
+            outcome = verification.outcome();
+            if (outcome == LocalTokenVerifier.Outcome.REJECTED) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            if (outcome == LocalTokenVerifier.Outcome.VERIFIED) {
+                principal = verification.claims().getSubject();
+            }
+        }
+        if (outcome == LocalTokenVerifier.Outcome.UNVERIFIABLE && !tokenValidator.isValid(token)) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
 
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
             UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken("auth-user", null, java.util.List.of());
+                new UsernamePasswordAuthenticationToken(principal, null, java.util.List.of());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -0,0 +1,214 @@
+package br.com.carreselling.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class LocalTokenVerifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalTokenVerifier.class);
+    private static final Set<JWSAlgorithm> ALGORITHMS = Set.of(
+        JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512,
+        JWSAlgorithm.PS256, JWSAlgorithm.PS384, JWSAlgorithm.PS512,
+        JWSAlgorithm.ES256, JWSAlgorithm.ES384, JWSAlgorithm.ES512,
+        JWSAlgorithm.EdDSA
+    );
+
+    private final boolean enabled;
+    private final FileJwkSource keySource;
+    private final DefaultJWTProcessor<SecurityContext> processor;
+    private final Cache<String, VerifiedToken> verifications;
+
+    public LocalTokenVerifier(MeterRegistry meterRegistry,
+                              @Value("${auth.jwt.enabled:false}") boolean enabled,
+                              @Value("${auth.jwt.jwks-file:}") String jwksFile,
+                              @Value("${auth.jwt.reload-check-interval:PT30S}") Duration reloadCheckInterval,
+                              @Value("${auth.jwt.issuer:}") String issuer,
+                              @Value("${auth.jwt.audience:}") String audience,
+                              @Value("${auth.jwt.claims-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.jwt.claims-cache.max-ttl:PT5M}") Duration maxTtl,
+                              @Value("${auth.jwt.claims-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.enabled = enabled && StringUtils.hasText(jwksFile);
+        if (enabled && !this.enabled) {
+            LOGGER.warn("Local token verification enabled without auth.jwt.jwks-file; using remote validation only");
+        }
+        this.verifications = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new VerificationExpiry(maxTtl, negativeTtl))
+            .recordStats()
+            .build();
+        this.keySource = this.enabled
+            ? new FileJwkSource(Path.of(jwksFile), reloadCheckInterval)
+            : null;
+        this.processor = new DefaultJWTProcessor<>();
+        if (this.enabled) {
+            processor.setJWSKeySelector(new JWSVerificationKeySelector<>(ALGORITHMS, keySource));
+            JWTClaimsSet.Builder exactMatch = new JWTClaimsSet.Builder();
+            if (StringUtils.hasText(issuer)) {
+                exactMatch.issuer(issuer);
+            }
+            processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+                StringUtils.hasText(audience) ? audience : null,
+                exactMatch.build(),
+                Set.of("sub", "exp")
+            ));
+        }
+        CaffeineCacheMetrics.monitor(meterRegistry, verifications, "authJwt");
+    }
+
+    public boolean supports(String token) {
+        return enabled && token != null && token.chars().filter(character -> character == '.').count() == 2;
+    }
+
+    public Verification verify(String token) {
+        String key = hash(token);
+        keySource.reloadIfChanged();
+        VerifiedToken verified = verifications.get(key, ignored -> process(token));
+        if (verified.keysGeneration() != keySource.generation()) {
+            verifications.invalidate(key);
+            verified = verifications.get(key, ignored -> process(token));
+        }
+        return verified.verification();
+    }
+
+    private VerifiedToken process(String token) {
+        long generation = keySource.generation();
+        try {
+            return new VerifiedToken(new Verification(Outcome.VERIFIED, processor.process(token, null)), generation);
+        } catch (BadJWSException | BadJWTException ex) {
+            // a known key rejected the signature, or the signed claims are not acceptable
+            return new VerifiedToken(new Verification(Outcome.REJECTED, null), generation);
+        } catch (Exception ex) {
+            // not a JWS, an unknown kid or an algorithm this key set does not verify
+            return new VerifiedToken(new Verification(Outcome.UNVERIFIABLE, null), generation);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public enum Outcome {
+        VERIFIED,
+        REJECTED,
+        UNVERIFIABLE
+    }
+
+    public record Verification(Outcome outcome, JWTClaimsSet claims) {
+    }
+
+    private record VerifiedToken(Verification verification, long keysGeneration) {
+
+        private JWTClaimsSet claims() {
+            return verification.claims();
+        }
+    }
+
+    private record VerificationExpiry(Duration maxTtl, Duration negativeTtl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.claims() == null) {
+                return negativeTtl.toNanos();
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), token.claims().getExpirationTime().toInstant());
+            return Math.max(0, Math.min(untilExpiry.toNanos(), maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static class FileJwkSource implements JWKSource<SecurityContext> {
+
+        private final Path path;
+        private final Duration checkInterval;
+        private volatile JWKSet keys = new JWKSet();
+        private volatile long generation;
+        private volatile Instant lastModified = Instant.EPOCH;
+        private volatile Instant nextCheck = Instant.EPOCH;
+
+        private FileJwkSource(Path path, Duration checkInterval) {
+            this.path = path;
+            this.checkInterval = checkInterval;
+            reloadIfChanged();
+        }
+
+        private long generation() {
+            return generation;
+        }
+
+        @Override
+        public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+            reloadIfChanged();
+            return jwkSelector.select(keys);
+        }
+
+        private void reloadIfChanged() {
+            Instant now = Instant.now();
+            if (now.isBefore(nextCheck)) {
+                return;
+            }
+            synchronized (this) {
+                if (now.isBefore(nextCheck)) {
+                    return;
+                }
+                nextCheck = now.plus(checkInterval);
+                try {
+                    Instant modified = Files.getLastModifiedTime(path).toInstant();
+                    if (!modified.equals(lastModified)) {
+                        keys = JWKSet.load(path.toFile());
+                        lastModified = modified;
+                        generation++;
+                        LOGGER.info("Loaded {} verification keys from {}", keys.getKeys().size(), path);
+                    }
+                } catch (IOException | java.text.ParseException ex) {
+                    LOGGER.warn("Failed to load verification keys from {}; keeping previous key set", path, ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.carreselling.usecase.brand.autocomplete.endpoint;
+
+import br.com.carreselling.application.service.IBrandService;
+import br.com.carreselling.application.service.model.BrandSummary;
+import br.com.carreselling.config.ApiResponse;
+import br.com.carreselling.usecase.brand.list.contract.BrandItem;
+import br.com.carreselling.usecase.brand.list.contract.BrandListResponse;
+import br.com.carreselling.usecase.brand.list.mapping.BrandListMapper;
+import java.util.List;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/brands/autocomplete")
+@Validated
+public class AutocompleteBrandEndpoint {
+
+    private final IBrandService brandService;
+
+    public AutocompleteBrandEndpoint(IBrandService brandService) {
+        this.brandService = brandService;
+    }
+
+    @GetMapping
+    public ApiResponse<BrandListResponse> autocomplete(@RequestParam(defaultValue = "") String prefix,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        List<BrandSummary> brands = brandService.autocompleteBrands(prefix, limit);
+        List<BrandItem> items = brands.stream()
+            .map(BrandListMapper::toItem)
+            .toList();
+        return new ApiResponse<>(new BrandListResponse(items));
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.carreselling.usecase.brand.model.autocomplete.endpoint;
+
+import br.com.carreselling.application.service.IVehicleModelService;
+import br.com.carreselling.application.service.model.VehicleModelSummary;
+import br.com.carreselling.config.ApiResponse;
+import br.com.carreselling.usecase.brand.model.list.contract.VehicleModelItem;
+import br.com.carreselling.usecase.brand.model.list.contract.VehicleModelListResponse;
+import br.com.carreselling.usecase.brand.model.list.mapping.VehicleModelListMapper;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/brands/{brandId}/models/autocomplete")
+@Validated
+public class AutocompleteBrandModelsEndpoint {
+
+    private final IVehicleModelService vehicleModelService;
+
+    public AutocompleteBrandModelsEndpoint(IVehicleModelService vehicleModelService) {
+        this.vehicleModelService = vehicleModelService;
+    }
+
+    @GetMapping
+    public ApiResponse<VehicleModelListResponse> autocomplete(@PathVariable UUID brandId,
+                                                              @RequestParam(defaultValue = "") String prefix,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        List<VehicleModelSummary> models = vehicleModelService.autocompleteModels(brandId, prefix, limit);
+        List<VehicleModelItem> items = models.stream()
+            .map(VehicleModelListMapper::toItem)
+            .toList();
+        return new ApiResponse<>(new VehicleModelListResponse(items));
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.carreselling.usecase.document.archive.endpoint;
+
+import br.com.carreselling.application.service.IDocumentService;
+import br.com.carreselling.application.service.model.DocumentArchive;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@Validated
+public class ArchiveSoldVehicleDocumentsEndpoint {
+
+    private final IDocumentService documentService;
+
+    public ArchiveSoldVehicleDocumentsEndpoint(IDocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    @GetMapping("/sold-vehicles/documents")
+    public void archive(@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate startDate,
+                        @RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate endDate,
+                        HttpServletResponse response) throws IOException {
+        DocumentArchive archive = documentService.archiveSoldVehicleDocuments(startDate, endDate);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + archive.fileName() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        archive.content().writeTo(response.getOutputStream());
+    }
+}
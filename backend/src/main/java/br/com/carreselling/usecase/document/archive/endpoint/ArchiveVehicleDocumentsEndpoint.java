@@ -0,0 +1,34 @@
+package br.com.carreselling.usecase.document.archive.endpoint;
+
+import br.com.carreselling.application.service.IDocumentService;
+import br.com.carreselling.application.service.model.DocumentArchive;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/vehicles")
+@Validated
+public class ArchiveVehicleDocumentsEndpoint {
+
+    private final IDocumentService documentService;
+
+    public ArchiveVehicleDocumentsEndpoint(IDocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    @GetMapping("/{vehicleId}/documents/archive")
+    public void archive(@PathVariable UUID vehicleId, HttpServletResponse response) throws IOException {
+        DocumentArchive archive = documentService.archiveVehicleDocuments(vehicleId);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + archive.fileName() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        archive.content().writeTo(response.getOutputStream());
+    }
+}
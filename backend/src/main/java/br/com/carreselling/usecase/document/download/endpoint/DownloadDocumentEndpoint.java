@@ -1,17 +1,26 @@
 package br.com.carreselling.usecase.document.download.endpoint;
 
 import br.com.carreselling.application.service.IDocumentService;
+import br.com.carreselling.application.service.model.DocumentContent;
 import br.com.carreselling.application.service.model.DocumentSummary;
+import br.com.carreselling.infrastructure.storage.FileRangeTransfer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.UUID;
-import org.springframework.core.io.Resource;
+import java.util.zip.GZIPInputStream;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/v1/vehicles")
@@ -25,13 +34,113 @@ public class DownloadDocumentEndpoint {
     }
 
     @GetMapping("/{vehicleId}/documents/{documentId}/download")
-    public ResponseEntity<Resource> download(@PathVariable UUID vehicleId, @PathVariable UUID documentId) {
-        DocumentSummary summary = documentService.getDocument(vehicleId, documentId);
-        Resource resource = documentService.downloadDocument(vehicleId, documentId);
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(summary.contentType()))
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + summary.originalFileName() + "\"")
-            .body(resource);
+    public void download(@PathVariable UUID vehicleId,
+                         @PathVariable UUID documentId,
+                         ServletWebRequest webRequest,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        DocumentContent content = documentService.downloadDocument(vehicleId, documentId);
+        DocumentSummary summary = content.document();
+        String encoding = content.contentEncoding();
+        boolean sendEncoded = encoding != null && acceptsEncoding(request, encoding);
+        String etag = sendEncoded
+            ? "\"" + summary.id() + "-" + encoding + "\""
+            : "\"" + summary.id() + "\"";
+        long lastModified = summary.uploadedAt().toEpochMilli();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(summary.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + summary.originalFileName() + "\"");
+        if (encoding != null && !sendEncoded) {
+            sendDecoded(request, response, content, summary.sizeBytes());
+            return;
+        }
+        if (sendEncoded) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        Path path = content.resource().getFile().toPath();
+        long size = Files.size(path);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        HttpRange range = resolveRange(request, etag, lastModified);
+        if (range == null) {
+            FileRangeTransfer.send(request, response, path, 0, size);
+            return;
+        }
+        long start = range.getRangeStart(size);
+        if (size == 0 || start >= size) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        long end = range.getRangeEnd(size);
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        FileRangeTransfer.send(request, response, path, start, end - start + 1);
+    }
+
+    private void sendDecoded(HttpServletRequest request,
+                             HttpServletResponse response,
+                             DocumentContent content,
+                             long size) throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+        response.setContentLengthLong(size);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        try (InputStream decoded = new GZIPInputStream(content.resource().getInputStream(), 64 * 1024)) {
+            decoded.transferTo(response.getOutputStream());
+        }
+    }
+
+    private boolean acceptsEncoding(HttpServletRequest request, String encoding) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            String coding = parts[0].trim();
+            boolean rejected = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+            if (!rejected && (coding.equalsIgnoreCase(encoding) || coding.equals("*"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpRange resolveRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, etag, lastModified)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date >= 0 && lastModified / 1000 * 1000 == date;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
     }
 }
@@ -0,0 +1,12 @@
+package br.com.carreselling.usecase.document.link.contract;
+
+import br.com.carreselling.domain.model.DocumentType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public record LinkDocumentRequest(@NotNull DocumentType documentType,
+                                  @NotBlank @Pattern(regexp = "[0-9a-fA-F]{64}") String contentSha256,
+                                  @NotBlank String originalFileName,
+                                  String contentType) {
+}
@@ -0,0 +1,42 @@
+package br.com.carreselling.usecase.document.link.endpoint;
+
+import br.com.carreselling.application.service.IDocumentService;
+import br.com.carreselling.config.ApiResponse;
+import br.com.carreselling.usecase.document.link.contract.LinkDocumentRequest;
+import br.com.carreselling.usecase.document.upload.contract.UploadDocumentResponse;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/vehicles")
+@Validated
+public class LinkDocumentEndpoint {
+
+    private final IDocumentService documentService;
+
+    public LinkDocumentEndpoint(IDocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    @PostMapping("/{vehicleId}/documents/by-hash")
+    public ResponseEntity<ApiResponse<UploadDocumentResponse>> link(@PathVariable UUID vehicleId,
+                                                                    @Valid @RequestBody LinkDocumentRequest request) {
+        UUID documentId = documentService.linkDocument(
+            vehicleId,
+            request.documentType(),
+            request.originalFileName(),
+            request.contentType(),
+            request.contentSha256()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(new ApiResponse<>(new UploadDocumentResponse(documentId)));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.carreselling.usecase.document.preview.endpoint;
+
+import br.com.carreselling.application.service.IDocumentService;
+import br.com.carreselling.application.service.model.DocumentPreviewContent;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/v1/vehicles")
+@Validated
+public class DownloadDocumentPreviewEndpoint {
+
+    private static final CacheControl PREVIEW_CACHE_CONTROL =
+        CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final IDocumentService documentService;
+
+    public DownloadDocumentPreviewEndpoint(IDocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    @GetMapping("/{vehicleId}/documents/{documentId}/preview")
+    public ResponseEntity<Resource> preview(@PathVariable UUID vehicleId,
+                                            @PathVariable UUID documentId,
+                                            @RequestParam(defaultValue = "160") int width,
+                                            WebRequest webRequest) {
+        DocumentPreviewContent content = documentService.downloadPreview(vehicleId, documentId, width);
+        String etag = "\"" + content.documentId() + "-" + content.width() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(PREVIEW_CACHE_CONTROL)
+            .eTag(etag)
+            .contentType(MediaType.parseMediaType(content.contentType()))
+            .contentLength(content.sizeBytes())
+            .body(content.resource());
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.carreselling.usecase.document.upload.endpoint;
+
+import br.com.carreselling.application.service.IDocumentService;
+import br.com.carreselling.config.ApiResponse;
+import br.com.carreselling.domain.model.DocumentType;
+import br.com.carreselling.infrastructure.multipart.MultipartStream;
+import br.com.carreselling.usecase.document.upload.contract.UploadDocumentResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/vehicles")
+@Validated
+public class StreamUploadDocumentEndpoint {
+
+    private static final int MAX_FIELD_BYTES = 64;
+
+    private final IDocumentService documentService;
+
+    public StreamUploadDocumentEndpoint(IDocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    @PostMapping(value = "/{vehicleId}/documents/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<UploadDocumentResponse>> upload(@PathVariable UUID vehicleId,
+                                                                      HttpServletRequest request) throws IOException {
+        MultipartStream multipart = new MultipartStream(request.getInputStream(), boundary(request));
+        DocumentType documentType = null;
+        Optional<MultipartStream.Part> next;
+        while ((next = multipart.nextPart()).isPresent()) {
+            MultipartStream.Part part = next.get();
+            if ("documentType".equals(part.name()) && !part.isFile()) {
+                documentType = parseDocumentType(part);
+            } else if ("file".equals(part.name()) && part.isFile()) {
+                if (documentType == null) {
+                    throw new IllegalArgumentException("documentType: required before file.");
+                }
+                UUID documentId = documentService.uploadDocument(
+                    vehicleId,
+                    documentType,
+                    part.filename(),
+                    part.contentType(),
+                    part.body()
+                );
+                return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(new UploadDocumentResponse(documentId)));
+            }
+        }
+        throw new IllegalArgumentException("file: required.");
+    }
+
+    private String boundary(HttpServletRequest request) {
+        String boundary = MediaType.parseMediaType(request.getContentType()).getParameter("boundary");
+        if (!StringUtils.hasText(boundary)) {
+            throw new IllegalArgumentException("Content-Type: multipart boundary required.");
+        }
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            return boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary;
+    }
+
+    private DocumentType parseDocumentType(MultipartStream.Part part) throws IOException {
+        byte[] value = part.body().readNBytes(MAX_FIELD_BYTES + 1);
+        if (value.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("documentType: invalid.");
+        }
+        try {
+            return DocumentType.valueOf(new String(value, StandardCharsets.UTF_8).trim());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("documentType: invalid.");
+        }
+    }
+}
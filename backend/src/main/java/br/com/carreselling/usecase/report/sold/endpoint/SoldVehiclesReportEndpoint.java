@@ -19,6 +19,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Validated
 public class SoldVehiclesReportEndpoint {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final IReportService reportService;
 
     public SoldVehiclesReportEndpoint(IReportService reportService) {
@@ -31,7 +33,9 @@ public class SoldVehiclesReportEndpoint {
         @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate endDate,
         @RequestParam(required = false) String brand,
         @RequestParam(required = false) String model,
-        @RequestParam(required = false) UUID partnerId
+        @RequestParam(required = false) UUID partnerId,
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Integer size
     ) {
         DistributedVehiclesFilter filter = new DistributedVehiclesFilter(
             startDate,
@@ -40,6 +44,13 @@ public class SoldVehiclesReportEndpoint {
             model,
             partnerId
         );
-        return new ApiResponse<>(reportService.soldVehiclesReport(filter));
+        if (page == null && size == null) {
+            return new ApiResponse<>(reportService.soldVehiclesReport(filter));
+        }
+        return new ApiResponse<>(reportService.soldVehiclesReport(
+            filter,
+            page == null ? 0 : page,
+            size == null ? DEFAULT_PAGE_SIZE : size
+        ));
     }
 }
@@ -0,0 +1,54 @@
+package br.com.carreselling.usecase.report.sold.export.endpoint;
+
+import br.com.carreselling.application.service.IReportService;
+import br.com.carreselling.application.service.model.DistributedVehiclesFilter;
+import br.com.carreselling.application.service.model.ReportExport;
+import br.com.carreselling.application.service.model.ReportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@Validated
+public class ExportSoldVehiclesReportEndpoint {
+
+    private final IReportService reportService;
+
+    public ExportSoldVehiclesReportEndpoint(IReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/sold-vehicles/export")
+    public void export(
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String brand,
+        @RequestParam(required = false) String model,
+        @RequestParam(required = false) UUID partnerId,
+        HttpServletResponse response
+    ) throws IOException {
+        DistributedVehiclesFilter filter = new DistributedVehiclesFilter(
+            startDate,
+            endDate,
+            brand,
+            model,
+            partnerId
+        );
+        ReportExport export = reportService.exportSoldVehicles(filter, ReportFormat.from(format));
+        response.setContentType(export.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + export.fileName() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        export.content().writeTo(response.getOutputStream());
+    }
+}
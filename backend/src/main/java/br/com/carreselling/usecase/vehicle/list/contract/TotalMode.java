@@ -0,0 +1,7 @@
+package br.com.carreselling.usecase.vehicle.list.contract;
+
+public enum TotalMode {
+    EXACT,
+    APPROXIMATE,
+    NONE
+}
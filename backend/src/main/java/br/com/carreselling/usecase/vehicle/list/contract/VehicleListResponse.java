@@ -2,5 +2,10 @@ package br.com.carreselling.usecase.vehicle.list.contract;
 
 import java.util.List;
 
-public record VehicleListResponse(List<VehicleListItem> items, int page, int size, long total) {
+public record VehicleListResponse(List<VehicleListItem> items,
+                                  int page,
+                                  int size,
+                                  Long total,
+                                  boolean hasMore,
+                                  String nextCursor) {
 }
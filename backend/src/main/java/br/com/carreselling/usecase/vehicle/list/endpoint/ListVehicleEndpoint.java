@@ -1,9 +1,12 @@
 package br.com.carreselling.usecase.vehicle.list.endpoint;
 
 import br.com.carreselling.application.service.IVehicleService;
+import br.com.carreselling.application.service.model.VehicleListCursor;
+import br.com.carreselling.application.service.model.VehiclePage;
 import br.com.carreselling.application.service.model.VehicleSummary;
 import br.com.carreselling.config.ApiResponse;
 import br.com.carreselling.domain.model.VehicleStatus;
+import br.com.carreselling.usecase.vehicle.list.contract.TotalMode;
 import br.com.carreselling.usecase.vehicle.list.contract.VehicleListItem;
 import br.com.carreselling.usecase.vehicle.list.contract.VehicleListResponse;
 import br.com.carreselling.usecase.vehicle.list.mapping.VehicleListMapper;
@@ -29,12 +32,35 @@ public class ListVehicleEndpoint {
     public ApiResponse<VehicleListResponse> list(@RequestParam(required = false) VehicleStatus status,
                                                  @RequestParam(required = false) String q,
                                                  @RequestParam(defaultValue = "0") int page,
-                                                 @RequestParam(defaultValue = "20") int size) {
-        List<VehicleSummary> vehicles = vehicleService.listVehicles(status, q, page, size);
-        long total = vehicleService.countVehicles(status, q);
-        List<VehicleListItem> items = vehicles.stream()
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "EXACT") TotalMode total) {
+        VehiclePage vehicles = cursor == null
+            ? vehicleService.listVehicles(status, q, page, size)
+            : vehicleService.listVehiclesAfter(status, q, VehicleListCursor.decode(cursor), size);
+        List<VehicleListItem> items = vehicles.vehicles().stream()
             .map(VehicleListMapper::toItem)
             .toList();
-        return new ApiResponse<>(new VehicleListResponse(items, page, size, total));
+        String nextCursor = null;
+        if (vehicles.hasMore() && !vehicles.relevanceOrdered()) {
+            VehicleSummary last = vehicles.vehicles().get(vehicles.vehicles().size() - 1);
+            nextCursor = VehicleListCursor.of(last).encode();
+        }
+        return new ApiResponse<>(new VehicleListResponse(
+            items,
+            page,
+            size,
+            resolveTotal(total, status, q),
+            vehicles.hasMore(),
+            nextCursor
+        ));
+    }
+
+    private Long resolveTotal(TotalMode mode, VehicleStatus status, String q) {
+        return switch (mode) {
+            case EXACT -> vehicleService.countVehicles(status, q);
+            case APPROXIMATE -> vehicleService.estimateVehicles(status, q);
+            case NONE -> null;
+        };
     }
 }
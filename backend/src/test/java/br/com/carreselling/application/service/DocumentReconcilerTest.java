@@ -0,0 +1,95 @@
+package br.com.carreselling.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.carreselling.domain.repository.DocumentBlobRepository;
+import br.com.carreselling.domain.repository.DocumentRepository;
+import br.com.carreselling.infrastructure.storage.ContentAddressedDocumentStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DocumentReconcilerTest {
+
+    private static final String ORPHAN_SHA = "ab" + "cd" + "0".repeat(60);
+    private static final String REFERENCED_SHA = "ef" + "01" + "1".repeat(60);
+
+    @TempDir
+    Path basePath;
+
+    private DocumentRepository documentRepository;
+    private ContentAddressedDocumentStorage storage;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        documentRepository = mock(DocumentRepository.class);
+        when(documentRepository.findExistingStorageKeys(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            Set<String> existing = new HashSet<>(keys);
+            existing.retainAll(Set.of("blobs/" + REFERENCED_SHA));
+            return existing;
+        });
+        storage = new ContentAddressedDocumentStorage(
+            basePath,
+            mock(DocumentBlobRepository.class),
+            new TransactionTemplate(mock(PlatformTransactionManager.class))
+        );
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void removesOrphanBlobAndKeepsReferencedBlob() throws IOException {
+        Path orphan = plantBlob(ORPHAN_SHA);
+        Path referenced = plantBlob(REFERENCED_SHA);
+
+        reconciler(true).reconcile();
+
+        assertThat(orphan).doesNotExist();
+        assertThat(referenced).exists();
+        assertThat(meterRegistry.counter("documents.reconcile", "outcome", "orphan_removed").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void reportsOnlyOrphanBlobWithoutRepair() throws IOException {
+        Path orphan = plantBlob(ORPHAN_SHA);
+        plantBlob(REFERENCED_SHA);
+
+        reconciler(false).reconcile();
+
+        assertThat(orphan).exists();
+        assertThat(meterRegistry.counter("documents.reconcile", "outcome", "orphan_found").count())
+            .isEqualTo(1.0);
+    }
+
+    private DocumentReconciler reconciler(boolean repair) {
+        return new DocumentReconciler(documentRepository, storage, meterRegistry, Duration.ofHours(1), 16, 500, repair);
+    }
+
+    private Path plantBlob(String sha256) throws IOException {
+        Path path = basePath.resolve("blobs")
+            .resolve(sha256.substring(0, 2))
+            .resolve(sha256.substring(2, 4))
+            .resolve(sha256);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, sha256);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        return path;
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.carreselling.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.carreselling.application.service.model.DistributedVehiclesFilter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ReportQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final DistributedVehiclesFilter LAST_MONTH = new DistributedVehiclesFilter(
+        LocalDate.of(2025, 12, 1),
+        LocalDate.of(2025, 12, 31),
+        null,
+        null,
+        null
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedVehicles() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles", Long.class) > 1000) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO vehicles (
+                  id, license_plate, year, color, model, brand, brand_id, model_id, supplier_source,
+                  purchase_price, freight_cost, selling_price, status, assigned_partner_id,
+                  distributed_at, sold_at, created_at, updated_at
+                )
+                SELECT UUID(),
+                       CONCAT('T', LPAD(seq.n, 6, '0')),
+                       2020, 'Black', m.name, b.name, b.id, m.id, 'INTERNET',
+                       50000.00, 0,
+                       CASE WHEN seq.n % 20 = 0 THEN 60000.00 END,
+                       CASE seq.n % 20 WHEN 0 THEN 'SOLD' WHEN 1 THEN 'DISTRIBUTED' ELSE 'IN_LOT' END,
+                       CASE WHEN seq.n % 20 IN (0, 1) THEN p.id END,
+                       CASE WHEN seq.n % 20 IN (0, 1) THEN DATE_SUB('2026-01-01', INTERVAL seq.n % 730 DAY) END,
+                       CASE WHEN seq.n % 20 = 0 THEN DATE_SUB('2026-01-01', INTERVAL seq.n % 730 DAY) END,
+                       NOW(), NOW()
+                FROM (
+                    SELECT d1.d + d2.d * 10 + d3.d * 100 + d4.d * 1000 AS n
+                    FROM (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8
+                          UNION ALL SELECT 9) d1
+                    CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+                          UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7
+                          UNION ALL SELECT 8 UNION ALL SELECT 9) d2
+                    CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+                          UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7
+                          UNION ALL SELECT 8 UNION ALL SELECT 9) d3
+                    CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+                          UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7
+                          UNION ALL SELECT 8 UNION ALL SELECT 9) d4
+                ) seq
+                CROSS JOIN (SELECT id, name FROM brands ORDER BY name LIMIT 1) b
+                JOIN (SELECT id, brand_id, name FROM models) m ON m.brand_id = b.id
+                CROSS JOIN (SELECT id FROM partners ORDER BY name LIMIT 1) p
+                """);
+        jdbcTemplate.execute("ANALYZE TABLE vehicles, partners");
+    }
+
+    @Test
+    void distributedReportUsesStatusDistributedAtIndex() {
+        List<Object> params = new ArrayList<>();
+        String sql = ReportService.distributedQuery(LAST_MONTH, params).toString();
+
+        assertVehiclesAccess(explain(sql, params), "idx_vehicles_status_distributed_at");
+    }
+
+    @Test
+    void liveSoldReportUsesStatusSoldAtIndex() {
+        List<Object> params = new ArrayList<>();
+        String sql = ReportService.liveSoldQuery(LAST_MONTH, params).toString();
+
+        assertVehiclesAccess(explain(sql, params), "idx_vehicles_status_sold_at");
+    }
+
+    private List<Map<String, Object>> explain(String sql, List<Object> params) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, params.toArray());
+    }
+
+    private static void assertVehiclesAccess(List<Map<String, Object>> plan, String expectedIndex) {
+        assertThat(plan)
+            .filteredOn(row -> "v".equals(row.get("table")))
+            .singleElement()
+            .satisfies(row -> {
+                assertThat(row.get("type")).isNotEqualTo("ALL");
+                assertThat(row.get("key")).isEqualTo(expectedIndex);
+            });
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.carreselling.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class VehicleSalesCalculatorTest {
+
+    private static final long SEED = 20261017L;
+    private static final int REPORTS = 2000;
+
+    private final VehicleSalesCalculator fixedPoint = calculator(true);
+    private final VehicleSalesCalculator exact = calculator(false);
+    private final Random random = new Random(SEED);
+
+    @Test
+    void fixedPointMatchesBigDecimalForRandomSales() {
+        assertSameResults(() -> vehicle(money(), money(), randomCommission(), money(), money()));
+    }
+
+    @Test
+    void fixedPointMatchesBigDecimalForNegativeMargins() {
+        assertSameResults(() -> {
+            BigDecimal sellingPrice = money();
+            BigDecimal purchasePrice = sellingPrice.add(BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2));
+            return vehicle(sellingPrice, purchasePrice, randomCommission(), money(), money());
+        });
+    }
+
+    @Test
+    void fixedPointMatchesBigDecimalOnHalfUpTies() {
+        // with no margin the taxes are price * 0.006, a tie whenever the price is 250 + 500k centavos;
+        // the IR on commission (15%) ties whenever the commission is 10 + 20k centavos
+        assertSameResults(() -> {
+            BigDecimal sellingPrice = BigDecimal.valueOf(250 + 500 * random.nextLong(0, 1_000_000), 2);
+            BigDecimal commission = BigDecimal.valueOf(10 + 20 * random.nextLong(0, 1_000_000), 2);
+            return vehicle(sellingPrice, sellingPrice, commission, money(), money());
+        });
+    }
+
+    @Test
+    void fixedPointMatchesBigDecimalForMixedScales() {
+        assertSameResults(() -> vehicle(
+            withRandomScale(money()),
+            withRandomScale(money()),
+            random.nextBoolean() ? null : withRandomScale(money()),
+            withRandomScale(money()),
+            withRandomScale(money())
+        ));
+    }
+
+    @Test
+    void chunkedReportMatchesSequentialReport() {
+        VehicleSalesCalculator chunkedFixedPoint = calculator(true, 100, 37, 4);
+        VehicleSalesCalculator chunkedExact = calculator(false, 100, 37, 4);
+        try {
+            for (int i = 0; i < 50; i++) {
+                List<VehicleSalesCalculator.SoldVehicleRaw> vehicles = new ArrayList<>();
+                int size = random.nextInt(100, 2000);
+                for (int j = 0; j < size; j++) {
+                    vehicles.add(vehicle(money(), money(), randomCommission(), money(), money()));
+                }
+                assertThat(chunkedFixedPoint.buildReport(vehicles)).isEqualTo(fixedPoint.buildReport(vehicles));
+                assertThat(chunkedExact.buildReport(vehicles)).isEqualTo(exact.buildReport(vehicles));
+            }
+        } finally {
+            chunkedFixedPoint.shutdown();
+            chunkedExact.shutdown();
+        }
+    }
+
+    private void assertSameResults(Supplier<VehicleSalesCalculator.SoldVehicleRaw> generator) {
+        for (int i = 0; i < REPORTS; i++) {
+            List<VehicleSalesCalculator.SoldVehicleRaw> vehicles = new ArrayList<>();
+            int size = random.nextInt(0, 40);
+            for (int j = 0; j < size; j++) {
+                vehicles.add(generator.get());
+            }
+            for (VehicleSalesCalculator.SoldVehicleRaw vehicle : vehicles) {
+                assertThat(fixedPoint.calculateLine(vehicle)).isEqualTo(exact.calculateLine(vehicle));
+            }
+            assertThat(fixedPoint.buildReport(vehicles)).isEqualTo(exact.buildReport(vehicles));
+        }
+    }
+
+    private VehicleSalesCalculator.SoldVehicleRaw vehicle(BigDecimal sellingPrice,
+                                                          BigDecimal purchasePrice,
+                                                          BigDecimal commission,
+                                                          BigDecimal freightCost,
+                                                          BigDecimal servicesTotal) {
+        return new VehicleSalesCalculator.SoldVehicleRaw(
+            UUID.randomUUID(),
+            "ABC1234",
+            "Honda",
+            "Civic",
+            2020,
+            LocalDate.of(2026, 1, 1),
+            purchasePrice,
+            commission,
+            freightCost,
+            sellingPrice,
+            servicesTotal
+        );
+    }
+
+    private BigDecimal money() {
+        long centavos = switch (random.nextInt(4)) {
+            case 0 -> random.nextLong(0, 100_000);
+            case 1 -> random.nextLong(0, 50_000_000);
+            case 2 -> random.nextLong(0, 99_999_999_999_99L);
+            default -> random.nextLong(-100_000, 100_000);
+        };
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private BigDecimal randomCommission() {
+        return random.nextInt(5) == 0 ? null : money();
+    }
+
+    private BigDecimal withRandomScale(BigDecimal value) {
+        return switch (random.nextInt(4)) {
+            case 0 -> value.setScale(0, RoundingMode.DOWN);
+            case 1 -> value.setScale(1, RoundingMode.DOWN);
+            case 2 -> value.setScale(3);
+            default -> value;
+        };
+    }
+
+    private static VehicleSalesCalculator calculator(boolean fixedPoint) {
+        return calculator(fixedPoint, 0, 2048, 1);
+    }
+
+    private static VehicleSalesCalculator calculator(boolean fixedPoint,
+                                                     int parallelThreshold,
+                                                     int chunkSize,
+                                                     int parallelism) {
+        return new VehicleSalesCalculator(
+            new BigDecimal("0.12"),
+            new BigDecimal("0.05"),
+            new BigDecimal("0.0065"),
+            new BigDecimal("0.03"),
+            new BigDecimal("0.0288"),
+            new BigDecimal("0.048"),
+            new BigDecimal("0.15"),
+            fixedPoint,
+            parallelThreshold,
+            chunkSize,
+            parallelism
+        );
+    }
+}